@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Test documents for the benchmarks: the PIP3A4 sample purchase order and synthetic variants of it
+ * with a given number of product line items.
+ */
+public final class BenchmarkDocuments {
+
+	public static final String SAMPLE_PROPERTY = "rosettanet.sample";
+
+	private static final String[] SAMPLE_LOCATIONS = {
+			"../samples/yaml-pip3a4-sample/data/input/sample-purchase-order.xml",
+			"samples/yaml-pip3a4-sample/data/input/sample-purchase-order.xml" };
+
+	private static final String LINE_ITEM_START = "<ProductLineItem>";
+	private static final String LINE_ITEM_END = "</ProductLineItem>";
+
+	private BenchmarkDocuments() {
+	}
+
+	/**
+	 * @return the sample purchase order, from the {@code rosettanet.sample} system property or the samples directory
+	 */
+	public static String samplePurchaseOrder() throws IOException {
+		String configured = System.getProperty(SAMPLE_PROPERTY);
+		if (configured != null) {
+			return Files.readString(Path.of(configured), StandardCharsets.UTF_8);
+		}
+		for (String location : SAMPLE_LOCATIONS) {
+			Path path = Path.of(location);
+			if (Files.exists(path)) {
+				return Files.readString(path, StandardCharsets.UTF_8);
+			}
+		}
+		throw new IOException("Sample purchase order not found, set -D" + SAMPLE_PROPERTY + "=<path>");
+	}
+
+	/**
+	 * Builds a purchase order from the sample with its product line item repeated.
+	 *
+	 * @param lineItems number of product line items, {@code 1} or less returns the sample unchanged
+	 * @return the purchase order XML
+	 */
+	public static String purchaseOrder(int lineItems) throws IOException {
+		String sample = samplePurchaseOrder();
+		if (lineItems <= 1) {
+			return sample;
+		}
+
+		int start = sample.indexOf(LINE_ITEM_START);
+		int end = sample.indexOf(LINE_ITEM_END, start) + LINE_ITEM_END.length();
+		if (start < 0 || end < LINE_ITEM_END.length()) {
+			throw new IllegalStateException("Sample purchase order has no " + LINE_ITEM_START);
+		}
+
+		String lineItem = sample.substring(start, end);
+		StringBuilder builder = new StringBuilder(sample.length() + lineItem.length() * (lineItems - 1));
+		builder.append(sample, 0, start);
+		for (int i = 0; i < lineItems; i++) {
+			builder.append(lineItem);
+		}
+		builder.append(sample, end, sample.length());
+		return builder.toString();
+	}
+
+	/**
+	 * @param size {@code small}, {@code 1k} or {@code 10k}
+	 * @return number of line items for the size name
+	 */
+	public static int lineItems(String size) {
+		switch (size) {
+		case "1k":
+			return 1_000;
+		case "10k":
+			return 10_000;
+		default:
+			return 1;
+		}
+	}
+
+}
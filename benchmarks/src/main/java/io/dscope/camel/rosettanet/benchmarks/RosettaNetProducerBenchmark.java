@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Producer;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Marshal and unmarshal throughput and latency of the RosettaNet producer, called directly and
+ * through a Camel route, for the PIP3A4 sample purchase order and synthetic orders with 1k and 10k
+ * line items.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar -prof gc} to also report bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RosettaNetProducerBenchmark {
+
+	private static final String ENDPOINT_OPTIONS = "pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest";
+
+	@Param({ "small", "1k", "10k" })
+	public String size;
+
+	private CamelContext camelContext;
+	private ProducerTemplate template;
+	private Producer unmarshalProducer;
+	private Producer marshalProducer;
+
+	private byte[] xml;
+	private Object document;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		camelContext = new DefaultCamelContext();
+		camelContext.addRoutes(new RouteBuilder() {
+			@Override
+			public void configure() {
+				from("direct:unmarshal").to("rosettanet:unmarshal?" + ENDPOINT_OPTIONS);
+				from("direct:marshal").to("rosettanet:marshal?" + ENDPOINT_OPTIONS);
+			}
+		});
+		camelContext.start();
+
+		template = camelContext.createProducerTemplate();
+		unmarshalProducer = camelContext.getEndpoint("rosettanet:unmarshal?" + ENDPOINT_OPTIONS).createProducer();
+		marshalProducer = camelContext.getEndpoint("rosettanet:marshal?" + ENDPOINT_OPTIONS).createProducer();
+		unmarshalProducer.start();
+		marshalProducer.start();
+
+		xml = BenchmarkDocuments.purchaseOrder(BenchmarkDocuments.lineItems(size)).getBytes(StandardCharsets.UTF_8);
+		document = template.requestBody("direct:unmarshal", xml);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		unmarshalProducer.stop();
+		marshalProducer.stop();
+		template.close();
+		camelContext.close();
+	}
+
+	@Benchmark
+	public Object unmarshalDirect() throws Exception {
+		return process(unmarshalProducer, xml);
+	}
+
+	@Benchmark
+	public Object marshalDirect() throws Exception {
+		return process(marshalProducer, document);
+	}
+
+	@Benchmark
+	public Object unmarshalRoute() {
+		return template.requestBody("direct:unmarshal", xml);
+	}
+
+	@Benchmark
+	public Object marshalRoute() {
+		return template.requestBody("direct:marshal", document);
+	}
+
+	private Object process(Producer producer, Object body) throws Exception {
+		Exchange exchange = new DefaultExchange(camelContext);
+		exchange.getIn().setBody(body);
+		producer.process(exchange);
+		if (exchange.getException() != null) {
+			throw exchange.getException();
+		}
+		return exchange.getMessage().getBody();
+	}
+
+}
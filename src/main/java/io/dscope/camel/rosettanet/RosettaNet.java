@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.builder.ValueBuilder;
+import org.apache.camel.support.ExpressionAdapter;
+
+/**
+ * Expressions and predicates for content based routing of RosettaNet documents, without JAXB.
+ * <p>
+ * The first expression evaluated on an exchange reads the root element and the document header
+ * in a single StAX pass and caches the PIP type, version, message name and the
+ * {@link RosettaNetHeaderScanner#DEFAULT_PATHS default header values} on the exchange, so any number
+ * of {@code choice} branches cost one partial parse. The body stays readable (streams are replayed).
+ * Values that are not found, including the message of an unknown root element, evaluate to
+ * {@code null}.
+ *
+ * <pre>
+ * from("file:data/inbox")
+ *     .choice()
+ *         .when(PredicateBuilder.and(RosettaNet.pip().isEqualTo("PIP3A4"), RosettaNet.senderId().isEqualTo("ACME")))
+ *             .to("direct:acme-orders")
+ *         .otherwise()
+ *             .to("direct:default");
+ * </pre>
+ */
+public final class RosettaNet {
+
+	/**
+	 * Exchange property holding the routing values read from the current body.
+	 */
+	public static final String ROUTING_KEYS_PROPERTY = "CamelRosettaNetRoutingKeys";
+
+	private static final RosettaNetHeaderScanner DEFAULT_SCANNER = new RosettaNetHeaderScanner(RosettaNetHeaderScanner.DEFAULT_PATHS);
+
+	private RosettaNet() {
+	}
+
+	/**
+	 * @return the PIP type detected from the root element
+	 */
+	public static ValueBuilder pip() {
+		return key(RosettaNetProducer.PIP_TYPE_HEADER);
+	}
+
+	/**
+	 * @return the message version detected from the root element
+	 */
+	public static ValueBuilder version() {
+		return key(RosettaNetProducer.VERSION_HEADER);
+	}
+
+	/**
+	 * @return the message name detected from the root element
+	 */
+	public static ValueBuilder messageName() {
+		return key(RosettaNetProducer.MESSAGE_NAME_HEADER);
+	}
+
+	/**
+	 * @return the document identifier from the document header
+	 */
+	public static ValueBuilder documentIdentifier() {
+		return key("documentIdentifier");
+	}
+
+	/**
+	 * @return the document type from the document header
+	 */
+	public static ValueBuilder documentType() {
+		return key("documentType");
+	}
+
+	/**
+	 * @return the sender partner identifier from the document header
+	 */
+	public static ValueBuilder senderId() {
+		return key("senderId");
+	}
+
+	/**
+	 * @return the receiver partner identifier from the document header
+	 */
+	public static ValueBuilder receiverId() {
+		return key("receiverId");
+	}
+
+	/**
+	 * Reads any other value. The path is compiled once; the first evaluation per exchange reads the
+	 * document again as far as the path, later evaluations use the cached value.
+	 *
+	 * @param path local names below the root element, e.g. {@code DocumentHeader/Sender/ContactInformation/Email}
+	 * @return the first value found at the path
+	 */
+	public static ValueBuilder path(String path) {
+		RosettaNetHeaderScanner scanner = new RosettaNetHeaderScanner("value=" + path);
+		String key = "/" + path;
+		return new ValueBuilder(new ExpressionAdapter() {
+			@Override
+			public Object evaluate(Exchange exchange) {
+				RoutingKeys keys = routingKeys(exchange);
+				if (!keys.values.containsKey(key)) {
+					keys.values.put(key, keys.read(exchange, reader -> scanner.scan(reader).get("value")));
+				}
+				return keys.values.get(key);
+			}
+
+			@Override
+			public String toString() {
+				return "rosettanet:" + path;
+			}
+		});
+	}
+
+	private static ValueBuilder key(String name) {
+		return new ValueBuilder(new ExpressionAdapter() {
+			@Override
+			public Object evaluate(Exchange exchange) {
+				return routingKeys(exchange).values.get(name);
+			}
+
+			@Override
+			public String toString() {
+				return "rosettanet:" + name;
+			}
+		});
+	}
+
+	/**
+	 * @return the routing values of the current body, read on first use
+	 */
+	private static RoutingKeys routingKeys(Exchange exchange) {
+		RoutingKeys keys = exchange.getProperty(ROUTING_KEYS_PROPERTY, RoutingKeys.class);
+		// a new body, e.g. after a transformation, is read again
+		if (keys != null && keys.body == exchange.getIn().getBody()) {
+			return keys;
+		}
+
+		RoutingKeys answer = new RoutingKeys();
+		QName[] rootElement = new QName[1];
+		Map<String, String> values = answer.read(exchange, reader -> {
+			while (reader.getEventType() != XMLStreamConstants.START_ELEMENT && reader.hasNext()) {
+				reader.next();
+			}
+			if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+				return Map.of();
+			}
+			rootElement[0] = reader.getName();
+			return DEFAULT_SCANNER.scan(reader);
+		});
+		answer.values.putAll(values);
+
+		if (rootElement[0] != null) {
+			RosettaNetDictionaryIndex.Entry entry;
+			try {
+				entry = exchange.getContext().getComponent("rosettanet", RosettaNetComponent.class)
+						.getDictionaryIndex().findByRootElement(rootElement[0], null);
+			} catch (Exception e) {
+				throw RuntimeCamelException.wrapRuntimeCamelException(e);
+			}
+			if (entry != null) {
+				answer.values.put(RosettaNetProducer.PIP_TYPE_HEADER, entry.getPipType());
+				answer.values.put(RosettaNetProducer.VERSION_HEADER, entry.getVersion());
+				answer.values.put(RosettaNetProducer.MESSAGE_NAME_HEADER, entry.getName());
+			}
+		}
+
+		exchange.setProperty(ROUTING_KEYS_PROPERTY, answer);
+		return answer;
+	}
+
+	/**
+	 * Values read from one message body, by name.
+	 */
+	private static final class RoutingKeys {
+		final Map<String, String> values = new HashMap<>();
+		Object body;
+
+		<T> T read(Exchange exchange, RosettaNetXmlHelper.StreamReaderCallback<T> callback) {
+			try {
+				return RosettaNetXmlHelper.peek(exchange, callback);
+			} catch (Exception e) {
+				throw RuntimeCamelException.wrapRuntimeCamelException(e);
+			} finally {
+				// peeking replaces a one-shot stream with a replayable one
+				body = exchange.getIn().getBody();
+			}
+		}
+	}
+
+}
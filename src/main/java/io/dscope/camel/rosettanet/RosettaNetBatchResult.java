@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+/**
+ * Outcome of one document of a batch: the unmarshalled document or marshalled XML, or the error
+ * that document failed with.
+ */
+public final class RosettaNetBatchResult {
+
+	private final int index;
+	private final Object body;
+	private final Exception error;
+
+	public RosettaNetBatchResult(int index, Object body, Exception error) {
+		this.index = index;
+		this.body = body;
+		this.error = error;
+	}
+
+	/**
+	 * @return position of the document in the batch
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * @return the processed document, or {@code null} if it failed
+	 */
+	public Object getBody() {
+		return body;
+	}
+
+	/**
+	 * @return the failure, or {@code null} if the document was processed
+	 */
+	public Exception getError() {
+		return error;
+	}
+
+	/**
+	 * @return whether the document failed
+	 */
+	public boolean isFailed() {
+		return error != null;
+	}
+
+	@Override
+	public String toString() {
+		return "RosettaNetBatchResult[" + index + (error != null ? ", failed: " + error.getMessage() : "") + "]";
+	}
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.namespace.QName;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlNsForm;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlSchema;
+import jakarta.xml.bind.annotation.XmlTransient;
+import jakarta.xml.bind.annotation.XmlType;
+
+import io.dscope.rosettanet.dictionary.RosettaNetDictionary.MessageDefinition;
+
+/**
+ * Immutable, fully resolved binding of a RosettaNet message: dictionary definition,
+ * JAXB context, root class and root element name. The names and classes of nested elements
+ * are looked up on demand and cached, see {@link #getElementType(String)}.
+ * <p>
+ * Plans are created by {@link RosettaNetContextRegistry} and reused for every exchange
+ * addressing the same PIP type, version and message name.
+ */
+public final class RosettaNetBindingPlan {
+
+	private final MessageDefinition messageDefinition;
+	private final String contextPath;
+	private final JAXBContext context;
+	private final Class<?> rootClass;
+	private final QName rootElement;
+	private final Map<String, ElementBinding> elements = new ConcurrentHashMap<>();
+
+	RosettaNetBindingPlan(MessageDefinition messageDefinition, String contextPath, JAXBContext context,
+			Class<?> rootClass, QName rootElement) {
+		this.messageDefinition = messageDefinition;
+		this.contextPath = contextPath;
+		this.context = context;
+		this.rootClass = rootClass;
+		this.rootElement = rootElement;
+	}
+
+	/**
+	 * Wraps the document in a {@link JAXBElement} named after the message root element
+	 * when its class carries no {@link XmlRootElement} annotation.
+	 *
+	 * @param document the JAXB document
+	 * @return the document itself or its root element wrapper
+	 */
+	public Object wrapRoot(Object document) {
+		Class<?> docClass = document.getClass();
+		if (document instanceof JAXBElement || docClass.isAnnotationPresent(XmlRootElement.class)) {
+			return document;
+		}
+
+		if (rootClass == null) {
+			throw new IllegalArgumentException("No root class found for message " + messageDefinition.getPackageName()
+					+ "." + messageDefinition.getName());
+		}
+		if (rootElement == null) {
+			throw new IllegalArgumentException("No @XmlRootElement found on class " + rootClass.getName());
+		}
+
+		@SuppressWarnings("unchecked")
+		Class<Object> declaredType = (Class<Object>) docClass;
+		return new JAXBElement<>(rootElement, declaredType, document);
+	}
+
+	/**
+	 * Finds the class bound to the first element with the given local name below the root element,
+	 * walking the JAXB properties of the root class breadth first.
+	 *
+	 * @param localName local name of the element, e.g. ProductLineItem
+	 * @return the bound class, or {@code null} if no such element exists
+	 */
+	public Class<?> getElementType(String localName) {
+		ElementBinding binding = findElement(localName);
+		return binding != null ? binding.type : null;
+	}
+
+	/**
+	 * Finds the qualified name of the first element with the given local name below the root element.
+	 *
+	 * @param localName local name of the element, e.g. DocumentHeader
+	 * @return the element name, or {@code null} if no such element exists
+	 */
+	public QName getElementName(String localName) {
+		ElementBinding binding = findElement(localName);
+		return binding != null ? binding.name : null;
+	}
+
+	private ElementBinding findElement(String localName) {
+		ElementBinding binding = elements.get(localName);
+		if (binding == null && rootClass != null) {
+			binding = findElement(rootClass, localName);
+			if (binding != null) {
+				elements.put(localName, binding);
+			}
+		}
+		return binding;
+	}
+
+	private static ElementBinding findElement(Class<?> root, String localName) {
+		Deque<Class<?>> queue = new ArrayDeque<>();
+		Set<Class<?>> visited = new HashSet<>();
+		queue.add(root);
+
+		while (!queue.isEmpty()) {
+			Class<?> current = queue.poll();
+			for (Class<?> type = current; type != null && type != Object.class; type = type.getSuperclass()) {
+				if (!visited.add(type)) {
+					continue;
+				}
+				for (Field field : type.getDeclaredFields()) {
+					if (Modifier.isStatic(field.getModifiers()) || field.isAnnotationPresent(XmlTransient.class)) {
+						continue;
+					}
+					Class<?> fieldType = propertyType(field.getGenericType());
+					if (fieldType == null) {
+						continue;
+					}
+					if (localName.equals(elementName(field))) {
+						return new ElementBinding(new QName(elementNamespace(field), localName), fieldType);
+					}
+					if (fieldType.isAnnotationPresent(XmlType.class)) {
+						queue.add(fieldType);
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String elementName(Field field) {
+		XmlElement element = field.getAnnotation(XmlElement.class);
+		if (element != null && !"##default".equals(element.name())) {
+			return element.name();
+		}
+		// default JAXB naming: productLineItem is bound to ProductLineItem
+		String name = field.getName();
+		return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private static String elementNamespace(Field field) {
+		XmlElement element = field.getAnnotation(XmlElement.class);
+		if (element != null && !"##default".equals(element.namespace())) {
+			return element.namespace();
+		}
+		XmlSchema schema = field.getDeclaringClass().getPackage().getAnnotation(XmlSchema.class);
+		return schema != null && schema.elementFormDefault() == XmlNsForm.QUALIFIED ? schema.namespace() : "";
+	}
+
+	/**
+	 * @return the class of a property, unwrapping lists and JAXBElement, or {@code null} if unknown
+	 */
+	private static Class<?> propertyType(Type type) {
+		if (type instanceof Class<?> c) {
+			return c.isPrimitive() ? null : c;
+		}
+		if (type instanceof ParameterizedType parameterized) {
+			Type raw = parameterized.getRawType();
+			if (raw == List.class || raw == JAXBElement.class) {
+				return propertyType(parameterized.getActualTypeArguments()[0]);
+			}
+			return raw instanceof Class<?> c ? c : null;
+		}
+		return null;
+	}
+
+	/**
+	 * @return the dictionary message definition
+	 */
+	public MessageDefinition getMessageDefinition() {
+		return messageDefinition;
+	}
+
+	/**
+	 * @return the JAXB context path
+	 */
+	public String getContextPath() {
+		return contextPath;
+	}
+
+	/**
+	 * @return the shared JAXB context
+	 */
+	public JAXBContext getContext() {
+		return context;
+	}
+
+	/**
+	 * @return the message root class, or {@code null} if not present on the classpath
+	 */
+	public Class<?> getRootClass() {
+		return rootClass;
+	}
+
+	/**
+	 * @return the message root element name, or {@code null} if the root class is not annotated
+	 */
+	public QName getRootElement() {
+		return rootElement;
+	}
+
+	@Override
+	public String toString() {
+		return "RosettaNetBindingPlan[" + messageDefinition.getType() + ":" + messageDefinition.getVersion() + ":"
+				+ messageDefinition.getName() + "]";
+	}
+
+	private static final class ElementBinding {
+		private final QName name;
+		private final Class<?> type;
+
+		ElementBinding(QName name, Class<?> type) {
+			this.name = name;
+			this.type = type;
+		}
+	}
+
+}
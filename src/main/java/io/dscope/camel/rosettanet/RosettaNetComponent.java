@@ -16,8 +16,17 @@
 
 package io.dscope.camel.rosettanet;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.spi.Metadata;
 import org.apache.camel.spi.annotations.Component;
 import org.apache.camel.support.DefaultComponent;
 import org.slf4j.Logger;
@@ -28,6 +37,56 @@ public class RosettaNetComponent extends DefaultComponent {
 	
 	private static final Logger LOG = LoggerFactory.getLogger(RosettaNetComponent.class);
 
+	private static final String MICROMETER_CLASS = "io.micrometer.core.instrument.MeterRegistry";
+
+	private final RosettaNetContextRegistry contextRegistry = new RosettaNetContextRegistry();
+
+	@Metadata(label = "advanced", defaultValue = "1000", description = "Maximum number of binding plans cached for endpoints resolving the message from headers")
+	private int planCacheSize = 1000;
+
+	@Metadata(label = "advanced", defaultValue = "DEBUG", description = "Log level of payload excerpts written by marshal and unmarshal, OFF disables payload logging")
+	private LoggingLevel payloadLoggingLevel = LoggingLevel.DEBUG;
+
+	@Metadata(label = "advanced", defaultValue = "1000", description = "Maximum number of characters logged per payload, zero or negative logs the full payload")
+	private int payloadLogMaxChars = 1000;
+
+	@Metadata(label = "advanced", defaultValue = "1", description = "Log the payload of one in every N messages")
+	private int payloadLogSampleRate = 1;
+
+	@Metadata(label = "advanced", description = "Hook to mask sensitive content in logged payload excerpts")
+	private RosettaNetPayloadRedactor payloadRedactor;
+
+	@Metadata(label = "advanced", defaultValue = "true", description = "Whether to record operation statistics, exposed via JMX and Micrometer when a MeterRegistry is bound")
+	private boolean metricsEnabled = true;
+
+	@Metadata(label = "advanced", description = "Additional receiver of operation samples")
+	private RosettaNetMetrics metrics;
+
+	@Metadata(label = "advanced", defaultValue = RosettaNetConfiguration.CONTEXT_PACKAGES, enums = "packages,rootClass,unified", description = "What JAXB contexts are built from: the packages of the message definition, the classes reachable from the message root class, or one context spanning the packages of all preloaded messages")
+	private String contextMode = RosettaNetConfiguration.CONTEXT_PACKAGES;
+
+	@Metadata(label = "advanced", description = "Messages whose JAXB contexts are built at startup, comma separated PIP[:version] entries, e.g. PIP3A4:02_05,PIP3B2:* (* selects all versions, no version the latest)")
+	private String preloadPips;
+
+	@Metadata(label = "advanced", defaultValue = "false", description = "Whether to build the JAXB contexts of all dictionary messages at startup")
+	private boolean preloadAll;
+
+	@Metadata(label = "advanced", defaultValue = "false", description = "Whether to compile the validation schemas of preloaded messages as well")
+	private boolean preloadSchemas;
+
+	@Metadata(label = "advanced", defaultValue = "0", description = "Number of synthetic marshal/unmarshal round-trips run per preloaded message to warm up the JIT")
+	private int preloadWarmUpIterations;
+
+	private RosettaNetPayloadLogger payloadLogger;
+
+	private final RosettaNetStatistics statistics = new RosettaNetStatistics();
+
+	private RosettaNetMetrics effectiveMetrics;
+
+	private final ConcurrentMap<JAXBContext, RosettaNetMarshallerPool> converterPools = new ConcurrentHashMap<>();
+
+	private volatile RosettaNetDictionaryIndex dictionaryIndex;
+
 	@Override
 	protected RosettaNetEndpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
 		RosettaNetEndpoint endpoint = new RosettaNetEndpoint(uri, this);
@@ -36,10 +95,302 @@ public class RosettaNetComponent extends DefaultComponent {
 		
 		if (remaining.startsWith(RosettaNetConfiguration.MARSHAL_PREFIX))
 			endpoint.setMethodType(RosettaNetConfiguration.MARSHAL_PREFIX);
+		else if (remaining.startsWith(RosettaNetConfiguration.SPLIT_PREFIX))
+			endpoint.setMethodType(RosettaNetConfiguration.SPLIT_PREFIX);
+		else if (remaining.startsWith(RosettaNetConfiguration.EXTRACT_HEADERS_PREFIX))
+			endpoint.setMethodType(RosettaNetConfiguration.EXTRACT_HEADERS_PREFIX);
 		else
 			endpoint.setMethodType(RosettaNetConfiguration.UNMARSHAL_PREFIX);
 		
 		return endpoint;
 	}
 
+	@Override
+	protected void doInit() throws Exception {
+		super.doInit();
+
+		contextRegistry.setPlanCacheSize(planCacheSize);
+		contextRegistry.setContextMode(contextMode);
+		payloadLogger = new RosettaNetPayloadLogger(payloadLoggingLevel, payloadLogMaxChars, payloadLogSampleRate, payloadRedactor);
+		// register as a camel service so the registry statistics are exposed via JMX
+		getCamelContext().addService(contextRegistry, true, true);
+
+		if (metricsEnabled) {
+			getCamelContext().addService(statistics, true, true);
+
+			List<RosettaNetMetrics> receivers = new ArrayList<>();
+			receivers.add(statistics);
+			// only touch the Micrometer bridge when Micrometer is on the classpath
+			if (getCamelContext().getClassResolver().resolveClass(MICROMETER_CLASS) != null) {
+				RosettaNetMetrics micrometer = RosettaNetMicrometerMetrics.create(getCamelContext(), contextRegistry);
+				if (micrometer != null) {
+					LOG.debug("Publishing RosettaNet metrics to Micrometer");
+					receivers.add(micrometer);
+				}
+			}
+			if (metrics != null) {
+				receivers.add(metrics);
+			}
+			effectiveMetrics = RosettaNetMetrics.of(receivers);
+		}
+	}
+
+	/**
+	 * @return the JAXB context registry shared by all endpoints of this component
+	 */
+	public RosettaNetContextRegistry getContextRegistry() {
+		return contextRegistry;
+	}
+
+	@Override
+	protected void doStart() throws Exception {
+		super.doStart();
+
+		if (dictionaryIndex == null) {
+			try {
+				long start = System.currentTimeMillis();
+				dictionaryIndex = RosettaNetDictionaryIndex.load();
+				contextRegistry.setDictionaryIndex(dictionaryIndex);
+				LOG.debug("Indexed {} RosettaNet messages in {} ms", dictionaryIndex.getEntries().size(), System.currentTimeMillis() - start);
+			} catch (Exception e) {
+				// the index is an optimization, lookups through the dictionary keep working without it
+				LOG.warn("Unable to index the RosettaNet dictionary: {}", e.getMessage(), e);
+			}
+		}
+
+		if (RosettaNetConfiguration.CONTEXT_UNIFIED.equals(contextMode) && !preloadAll && preloadPips == null) {
+			LOG.warn("contextMode=unified requires preloadPips or preloadAll, building one context per message package");
+		}
+		if (preloadAll || preloadPips != null) {
+			RosettaNetPreloader preloader = new RosettaNetPreloader(contextRegistry, getDictionaryIndex(), preloadSchemas,
+					preloadWarmUpIterations);
+			preloader.preload(getCamelContext(), this, preloadAll ? preloader.selectAll() : preloader.select(preloadPips));
+		}
+	}
+
+	/**
+	 * @return the dictionary index built at startup, loaded on first use if startup indexing failed
+	 */
+	public RosettaNetDictionaryIndex getDictionaryIndex() throws Exception {
+		RosettaNetDictionaryIndex index = dictionaryIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = dictionaryIndex;
+				if (index == null) {
+					index = dictionaryIndex = RosettaNetDictionaryIndex.load();
+					contextRegistry.setDictionaryIndex(index);
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the pool used by {@link RosettaNetTypeConverter} for the given context, with compact
+	 * UTF-8 output and no validation.
+	 *
+	 * @param context shared JAXB context
+	 * @return the converter pool of that context
+	 */
+	public RosettaNetMarshallerPool getConverterPool(JAXBContext context) {
+		return converterPools.computeIfAbsent(context, c -> new RosettaNetMarshallerPool(c, RosettaNetConfiguration.POOL_BOUNDED,
+				32, 300000, Map.of(Marshaller.JAXB_ENCODING, "UTF-8")));
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		super.doStop();
+		converterPools.values().forEach(RosettaNetMarshallerPool::clear);
+		converterPools.clear();
+	}
+
+	/**
+	 * @return the payload logger configured from the payload logging options
+	 */
+	public RosettaNetPayloadLogger getPayloadLogger() {
+		return payloadLogger;
+	}
+
+	/**
+	 * @return the operation statistics of this component
+	 */
+	public RosettaNetStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * @return the receiver endpoints report operation samples to, or {@code null} if metrics are disabled
+	 */
+	RosettaNetMetrics getEffectiveMetrics() {
+		return effectiveMetrics;
+	}
+
+	/**
+	 * @return metricsEnabled
+	 */
+	public boolean isMetricsEnabled() {
+		return metricsEnabled;
+	}
+
+	/**
+	 * @param metricsEnabled whether to record operation statistics
+	 */
+	public void setMetricsEnabled(boolean metricsEnabled) {
+		this.metricsEnabled = metricsEnabled;
+	}
+
+	/**
+	 * @return metrics
+	 */
+	public RosettaNetMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @param metrics additional receiver of operation samples
+	 */
+	public void setMetrics(RosettaNetMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * @return contextMode
+	 */
+	public String getContextMode() {
+		return contextMode;
+	}
+
+	/**
+	 * @param contextMode packages, rootClass or unified
+	 */
+	public void setContextMode(String contextMode) {
+		this.contextMode = contextMode;
+	}
+
+	/**
+	 * @return preloadPips
+	 */
+	public String getPreloadPips() {
+		return preloadPips;
+	}
+
+	/**
+	 * @param preloadPips comma separated PIP[:version] entries built at startup
+	 */
+	public void setPreloadPips(String preloadPips) {
+		this.preloadPips = preloadPips;
+	}
+
+	/**
+	 * @return preloadAll
+	 */
+	public boolean isPreloadAll() {
+		return preloadAll;
+	}
+
+	/**
+	 * @param preloadAll whether to build all dictionary messages at startup
+	 */
+	public void setPreloadAll(boolean preloadAll) {
+		this.preloadAll = preloadAll;
+	}
+
+	/**
+	 * @return preloadSchemas
+	 */
+	public boolean isPreloadSchemas() {
+		return preloadSchemas;
+	}
+
+	/**
+	 * @param preloadSchemas whether to compile schemas of preloaded messages
+	 */
+	public void setPreloadSchemas(boolean preloadSchemas) {
+		this.preloadSchemas = preloadSchemas;
+	}
+
+	/**
+	 * @return preloadWarmUpIterations
+	 */
+	public int getPreloadWarmUpIterations() {
+		return preloadWarmUpIterations;
+	}
+
+	/**
+	 * @param preloadWarmUpIterations round-trips per preloaded message
+	 */
+	public void setPreloadWarmUpIterations(int preloadWarmUpIterations) {
+		this.preloadWarmUpIterations = preloadWarmUpIterations;
+	}
+
+	/**
+	 * @return planCacheSize
+	 */
+	public int getPlanCacheSize() {
+		return planCacheSize;
+	}
+
+	/**
+	 * @param planCacheSize maximum number of cached binding plans
+	 */
+	public void setPlanCacheSize(int planCacheSize) {
+		this.planCacheSize = planCacheSize;
+	}
+
+	/**
+	 * @return payloadLoggingLevel
+	 */
+	public LoggingLevel getPayloadLoggingLevel() {
+		return payloadLoggingLevel;
+	}
+
+	/**
+	 * @param payloadLoggingLevel log level of payload excerpts
+	 */
+	public void setPayloadLoggingLevel(LoggingLevel payloadLoggingLevel) {
+		this.payloadLoggingLevel = payloadLoggingLevel;
+	}
+
+	/**
+	 * @return payloadLogMaxChars
+	 */
+	public int getPayloadLogMaxChars() {
+		return payloadLogMaxChars;
+	}
+
+	/**
+	 * @param payloadLogMaxChars maximum characters logged per payload
+	 */
+	public void setPayloadLogMaxChars(int payloadLogMaxChars) {
+		this.payloadLogMaxChars = payloadLogMaxChars;
+	}
+
+	/**
+	 * @return payloadLogSampleRate
+	 */
+	public int getPayloadLogSampleRate() {
+		return payloadLogSampleRate;
+	}
+
+	/**
+	 * @param payloadLogSampleRate log one in every N payloads
+	 */
+	public void setPayloadLogSampleRate(int payloadLogSampleRate) {
+		this.payloadLogSampleRate = payloadLogSampleRate;
+	}
+
+	/**
+	 * @return payloadRedactor
+	 */
+	public RosettaNetPayloadRedactor getPayloadRedactor() {
+		return payloadRedactor;
+	}
+
+	/**
+	 * @param payloadRedactor hook masking logged payload excerpts
+	 */
+	public void setPayloadRedactor(RosettaNetPayloadRedactor payloadRedactor) {
+		this.payloadRedactor = payloadRedactor;
+	}
+
 }
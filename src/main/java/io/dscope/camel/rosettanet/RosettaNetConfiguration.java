@@ -20,4 +20,33 @@ public class RosettaNetConfiguration implements Cloneable {
 	public static final String XML_TYPE = "xml";
 	public static final String UNMARSHAL_PREFIX = "unmarshal";
 	public static final String MARSHAL_PREFIX = "marshal";
+	public static final String SPLIT_PREFIX = "split";
+	public static final String EXTRACT_HEADERS_PREFIX = "extractHeaders";
+
+	public static final String POOL_BOUNDED = "bounded";
+	public static final String POOL_THREAD_LOCAL = "threadLocal";
+	public static final String POOL_NONE = "none";
+
+	public static final String OUTPUT_STRING = "string";
+	public static final String OUTPUT_BYTES = "bytes";
+	public static final String OUTPUT_STREAM = "stream";
+
+	public static final String VALIDATE_NONE = "none";
+	public static final String VALIDATE_INBOUND = "inbound";
+	public static final String VALIDATE_OUTBOUND = "outbound";
+	public static final String VALIDATE_BOTH = "both";
+
+	public static final String WORKER_PLATFORM = "platform";
+	public static final String WORKER_VIRTUAL = "virtual";
+
+	public static final String ASYNC_ABORT = "abort";
+	public static final String ASYNC_CALLER_RUNS = "callerRuns";
+
+	public static final String CONTEXT_PACKAGES = "packages";
+	public static final String CONTEXT_ROOT_CLASS = "rootClass";
+	public static final String CONTEXT_UNIFIED = "unified";
+
+	public static final String DOCUMENT_HEADER_ELEMENT = "DocumentHeader";
+
+	public static final String NAMESPACE_PREFIX_MAPPER_PROPERTY = "org.glassfish.jaxb.namespacePrefixMapper";
 }
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.ScheduledPollConsumer;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls a directory for RosettaNet documents and routes them unmarshalled.
+ * <p>
+ * Each poll claims files by renaming them with an {@code .inprogress} suffix, so several consumers
+ * may share a directory, and hands them to a worker pool that unmarshals and routes them in parallel.
+ * At most {@code maxInFlight} files are being processed at once; when the limit is reached the poll
+ * waits for a worker instead of claiming more files. When the exchange is done, before its completion
+ * is signalled, processed files are moved to {@code move} (or deleted), failed files to {@code moveFailed}.
+ */
+public class RosettaNetConsumer extends ScheduledPollConsumer {
+
+	static final String IN_PROGRESS_SUFFIX = ".inprogress";
+
+	private static final Logger LOG = LoggerFactory.getLogger(RosettaNetConsumer.class);
+
+	private Path directory;
+	private Pattern include;
+	private ExecutorService executor;
+	private Semaphore inFlight;
+
+	public RosettaNetConsumer(RosettaNetEndpoint endpoint, Processor processor) {
+		super(endpoint, processor);
+	}
+
+	@Override
+	public RosettaNetEndpoint getEndpoint() {
+		return (RosettaNetEndpoint) super.getEndpoint();
+	}
+
+	@Override
+	protected void doStart() throws Exception {
+		RosettaNetEndpoint endpoint = getEndpoint();
+
+		directory = Path.of(endpoint.getDirectory());
+		Files.createDirectories(directory);
+		include = endpoint.getInclude() != null ? Pattern.compile(endpoint.getInclude()) : null;
+		recoverInProgress();
+
+		int workers = endpoint.getWorkerCount();
+		int maxInFlight = endpoint.getMaxInFlight() > 0 ? endpoint.getMaxInFlight() : workers * 2;
+		inFlight = new Semaphore(maxInFlight);
+		executor = endpoint.createWorkerExecutor(this, "RosettaNetConsumer");
+		LOG.debug("Polling {} with {} {} workers, at most {} files in flight", directory, workers, endpoint.getWorkerType(), maxInFlight);
+
+		// start the scheduler last so the first poll finds the workers ready
+		super.doStart();
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		super.doStop();
+
+		if (executor != null) {
+			getEndpoint().shutdownWorkerExecutor(executor);
+			executor = null;
+		}
+	}
+
+	@Override
+	protected int poll() throws Exception {
+		int limit = getEndpoint().getMaxMessagesPerPoll();
+		int submitted = 0;
+
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, this::accept)) {
+			for (Path file : files) {
+				if (limit > 0 && submitted >= limit) {
+					break;
+				}
+				if (!acquireSlot()) {
+					break;
+				}
+
+				Path claimed = claim(file);
+				if (claimed == null) {
+					inFlight.release();
+					continue;
+				}
+
+				try {
+					executor.execute(() -> process(file, claimed));
+					submitted++;
+				} catch (RejectedExecutionException e) {
+					// stopping, hand the file back for the next start
+					inFlight.release();
+					moveQuietly(claimed, file);
+					break;
+				}
+			}
+		}
+
+		return submitted;
+	}
+
+	/**
+	 * Waits for a free in-flight slot, giving up when the consumer is stopping.
+	 */
+	private boolean acquireSlot() throws InterruptedException {
+		while (isRunAllowed() && !isSuspending() && !isSuspended()) {
+			if (inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean accept(Path file) {
+		String name = file.getFileName().toString();
+		if (name.startsWith(".") || name.endsWith(IN_PROGRESS_SUFFIX) || !Files.isRegularFile(file)) {
+			return false;
+		}
+		return include == null || include.matcher(name).matches();
+	}
+
+	private void process(Path file, Path claimed) {
+		Exchange exchange = createExchange(false);
+		boolean routed = false;
+		try {
+			exchange.getIn().setHeader(Exchange.FILE_NAME, file.getFileName().toString());
+			exchange.getIn().setHeader(Exchange.FILE_NAME_ONLY, file.getFileName().toString());
+			exchange.getIn().setHeader(Exchange.FILE_PATH, file.toAbsolutePath().toString());
+			exchange.getIn().setHeader(Exchange.FILE_PARENT, directory.toAbsolutePath().toString());
+			exchange.getIn().setHeader(Exchange.FILE_LENGTH, Files.size(claimed));
+			exchange.getIn().setHeader(Exchange.FILE_LAST_MODIFIED, Files.getLastModifiedTime(claimed).toMillis());
+
+			try (InputStream is = RosettaNetXmlHelper.openFile(claimed, getEndpoint().getMappedFileThreshold())) {
+				exchange.getIn().setBody(is);
+				getEndpoint().getOperations().unmarshal(exchange);
+			}
+
+			// like the file component, commit when the unit of work is done, before completion is signalled
+			exchange.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
+				@Override
+				public void onDone(Exchange done) {
+					commit(file, claimed, done);
+				}
+			});
+			routed = true;
+			getProcessor().process(exchange);
+		} catch (Exception e) {
+			exchange.setException(e);
+		}
+
+		try {
+			if (!routed) {
+				commit(file, claimed, exchange);
+			}
+		} finally {
+			releaseExchange(exchange, false);
+			inFlight.release();
+		}
+	}
+
+	/**
+	 * Moves or deletes a processed file, or moves it to moveFailed if the exchange failed.
+	 */
+	private void commit(Path file, Path claimed, Exchange exchange) {
+		try {
+			if (exchange.isFailed()) {
+				getExceptionHandler().handleException("Error processing RosettaNet file " + file, exchange, exchange.getException());
+				moveTo(claimed, getEndpoint().getMoveFailed(), file.getFileName().toString());
+			} else if (getEndpoint().isDelete()) {
+				Files.deleteIfExists(claimed);
+			} else {
+				moveTo(claimed, getEndpoint().getMove(), file.getFileName().toString());
+			}
+		} catch (IOException e) {
+			getExceptionHandler().handleException("Error committing RosettaNet file " + file, exchange, e);
+		}
+	}
+
+	/**
+	 * Claims a file by renaming it, so it is processed once even when several pollers share the directory.
+	 *
+	 * @return the claimed file, or {@code null} if another poller took it first
+	 */
+	private Path claim(Path file) {
+		Path claimed = file.resolveSibling(file.getFileName() + IN_PROGRESS_SUFFIX);
+		try {
+			return Files.move(file, claimed, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			try {
+				return Files.move(file, claimed);
+			} catch (IOException ex) {
+				return null;
+			}
+		} catch (NoSuchFileException | FileAlreadyExistsException e) {
+			return null;
+		} catch (IOException e) {
+			LOG.warn("Unable to claim {}: {}", file, e.getMessage());
+			return null;
+		}
+	}
+
+	private void moveTo(Path claimed, String target, String name) throws IOException {
+		Path targetDirectory = directory.resolve(target);
+		Files.createDirectories(targetDirectory);
+		Files.move(claimed, targetDirectory.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Renames files left claimed by a previous run back so they are polled again.
+	 */
+	private void recoverInProgress() throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + IN_PROGRESS_SUFFIX)) {
+			for (Path claimed : files) {
+				String name = claimed.getFileName().toString();
+				moveQuietly(claimed, claimed.resolveSibling(name.substring(0, name.length() - IN_PROGRESS_SUFFIX.length())));
+			}
+		}
+	}
+
+	private void moveQuietly(Path source, Path target) {
+		try {
+			Files.move(source, target);
+		} catch (IOException e) {
+			LOG.warn("Unable to move {} to {}: {}", source, target, e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,644 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.SchemaOutputResolver;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.support.LRUCacheFactory;
+import org.apache.camel.support.ResourceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+
+import io.dscope.rosettanet.dictionary.RosettaNetDictionary;
+import io.dscope.rosettanet.dictionary.RosettaNetDictionary.MessageDefinition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.ls.DOMImplementationLS;
+import org.w3c.dom.ls.LSInput;
+
+/**
+ * Component scoped registry of {@link JAXBContext} instances and {@link RosettaNetBindingPlan}s.
+ * <p>
+ * Each distinct context path (the {@code packages} property of a message definition) is
+ * built exactly once and shared by every endpoint and producer of the owning component.
+ * Plans requested by (PIP type, version, message name) are memoized in a bounded LRU cache.
+ * Validation schemas are compiled once per context or XSD resource.
+ * <p>
+ * The context mode selects what a context is built from: the {@code packages} of the message
+ * definition (default), the message root class only, binding just the classes reachable from it, or
+ * one unified context spanning the packages of all preloaded messages so shared packages such as the
+ * document header are bound once. {@link #dumpContexts()} reports build time, bytes allocated while
+ * building and bound namespaces per context to compare the modes. The allocation includes the garbage
+ * produced by the build, it is an indication of build cost rather than the retained size of a context.
+ */
+@ManagedResource(description = "RosettaNet JAXBContext registry")
+public class RosettaNetContextRegistry extends ServiceSupport {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RosettaNetContextRegistry.class);
+
+	private static final String SCHEMA_BASE = "rosettanet:/schema/";
+
+	private final ConcurrentMap<String, String> contextPaths = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, ContextHolder> contexts = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, SchemaHolder> schemas = new ConcurrentHashMap<>();
+	private final ConcurrentMap<JAXBContext, SchemaHolder> contextSchemas = new ConcurrentHashMap<>();
+
+	private String contextMode = RosettaNetConfiguration.CONTEXT_PACKAGES;
+	private volatile RosettaNetDictionaryIndex dictionaryIndex;
+
+	private int planCacheSize = 1000;
+	private volatile Map<String, RosettaNetBindingPlan> plans = LRUCacheFactory.newLRUCache(planCacheSize);
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final AtomicLong totalBuildTime = new AtomicLong();
+	private final AtomicLong maxBuildTime = new AtomicLong();
+
+	/**
+	 * Returns the shared context for the given message definition, building it on first use.
+	 *
+	 * @param msgDef the message definition
+	 * @return the shared JAXB context
+	 */
+	public JAXBContext getContext(MessageDefinition msgDef) throws Exception {
+		return getContext(getContextPath(msgDef));
+	}
+
+	/**
+	 * Returns the shared context for the given context path, building it on first use.
+	 *
+	 * @param contextPath colon separated list of JAXB packages
+	 * @return the shared JAXB context
+	 */
+	public JAXBContext getContext(String contextPath) throws JAXBException {
+		return contexts.computeIfAbsent(contextPath, k -> new ContextHolder(k, () -> JAXBContext.newInstance(k))).get();
+	}
+
+	/**
+	 * Returns the shared context bound to the classes reachable from a root class, building it on first use.
+	 *
+	 * @param rootClass the message root class
+	 * @return the shared JAXB context
+	 */
+	public JAXBContext getContext(Class<?> rootClass) throws JAXBException {
+		return contexts.computeIfAbsent("class:" + rootClass.getName(),
+				k -> new ContextHolder(k, () -> JAXBContext.newInstance(rootClass))).get();
+	}
+
+	/**
+	 * Builds one context spanning the packages of all given context paths and serves it for each of
+	 * them, so packages shared between messages are bound once. Context paths already built keep
+	 * their own context.
+	 *
+	 * @param contextPaths context paths of the messages to unify
+	 * @return the unified context
+	 */
+	public JAXBContext unify(Collection<String> contextPaths) throws JAXBException {
+		Set<String> packages = new LinkedHashSet<>();
+		for (String contextPath : contextPaths) {
+			for (String packageName : contextPath.split(":")) {
+				if (!packageName.isBlank()) {
+					packages.add(packageName.trim());
+				}
+			}
+		}
+
+		String unifiedPath = String.join(":", packages);
+		ContextHolder holder = new ContextHolder("unified:" + unifiedPath, () -> JAXBContext.newInstance(unifiedPath));
+		JAXBContext context = holder.get();
+		contexts.putIfAbsent(holder.key, holder);
+		for (String contextPath : contextPaths) {
+			contexts.putIfAbsent(contextPath, holder);
+		}
+		LOG.info("Built unified JAXB context of {} packages for {} context paths", packages.size(), contextPaths.size());
+		return context;
+	}
+
+	/**
+	 * Returns the binding plan for the given message coordinates, resolving them on first use. Complete
+	 * coordinates are looked up in the dictionary index; missing ones are defaulted by
+	 * {@link RosettaNetDictionary#findMessage(String, String, String)}, as without an index.
+	 *
+	 * @param pipType the PIP type (e.g., PIP3A4)
+	 * @param version the message version, or {@code null} for the dictionary default
+	 * @param messageName the message name, or {@code null} for the dictionary default
+	 * @return the cached binding plan
+	 */
+	public RosettaNetBindingPlan getPlan(String pipType, String version, String messageName) throws Exception {
+		Map<String, RosettaNetBindingPlan> cache = plans;
+
+		String key = pipType + ":" + version + ":" + messageName;
+		RosettaNetBindingPlan plan = cache.get(key);
+		if (plan != null) {
+			// served by a context built earlier, without reaching getContext
+			hits.increment();
+			return plan;
+		}
+
+		// coordinates with defaults share the plan of the message they resolve to
+		RosettaNetDictionaryIndex.Entry entry = findEntry(pipType, version, messageName);
+		MessageDefinition msgDef = entry == null ? findDefinition(null, pipType, version, messageName) : null;
+		String resolvedKey = entry != null ? entry.toString() : messageKey(msgDef);
+		plan = cache.get(resolvedKey);
+		if (plan != null) {
+			hits.increment();
+		} else {
+			plan = createPlan(msgDef != null ? msgDef : findDefinition(entry, pipType, version, messageName));
+			cache.put(resolvedKey, plan);
+		}
+		cache.put(key, plan);
+		return plan;
+	}
+
+	/**
+	 * @return the index entry of complete coordinates, or {@code null} if no index is set or a coordinate
+	 * is missing, the dictionary applies its own defaults then
+	 * @throws IllegalArgumentException if the index knows no such message
+	 */
+	private RosettaNetDictionaryIndex.Entry findEntry(String pipType, String version, String messageName) {
+		RosettaNetDictionaryIndex index = dictionaryIndex;
+		if (index == null || pipType == null || version == null || messageName == null) {
+			return null;
+		}
+		RosettaNetDictionaryIndex.Entry entry = index.find(pipType, version, messageName);
+		if (entry == null) {
+			throw new IllegalArgumentException("No message definition found for PIP type: " + pipType +
+					", version: " + version + ", messageName: " + messageName);
+		}
+		return entry;
+	}
+
+	/**
+	 * Loads the dictionary definition of a message, by its exact coordinates when the index resolved them.
+	 */
+	private static MessageDefinition findDefinition(RosettaNetDictionaryIndex.Entry entry, String pipType, String version,
+			String messageName) {
+		Optional<MessageDefinition> definition = entry != null
+				? RosettaNetDictionary.findMessage(entry.getPipType(), entry.getVersion(), entry.getName())
+				: RosettaNetDictionary.findMessage(pipType, version, messageName);
+		if (definition.isEmpty()) {
+			throw new IllegalArgumentException("No message definition found for PIP type: " + pipType +
+					", version: " + version + ", messageName: " + messageName);
+		}
+		return definition.get();
+	}
+
+	/**
+	 * Resolves context, root class and root element of a message definition.
+	 *
+	 * @param msgDef the message definition
+	 * @return a new binding plan
+	 */
+	public RosettaNetBindingPlan createPlan(MessageDefinition msgDef) throws Exception {
+		String contextPath = getContextPath(msgDef);
+
+		Class<?> rootClass = null;
+		QName rootElement = null;
+		try {
+			rootClass = Class.forName(msgDef.getPackageName() + "." + msgDef.getName());
+			XmlRootElement root = rootClass.getAnnotation(XmlRootElement.class);
+			if (root != null) {
+				rootElement = new QName(root.namespace(), root.name());
+			}
+		} catch (ClassNotFoundException e) {
+			LOG.debug("No root class found for message {}.{}", msgDef.getPackageName(), msgDef.getName());
+		}
+
+		JAXBContext context = RosettaNetConfiguration.CONTEXT_ROOT_CLASS.equals(contextMode) && rootClass != null
+				? getContext(rootClass)
+				: getContext(contextPath);
+
+		return new RosettaNetBindingPlan(msgDef, contextPath, context, rootClass, rootElement);
+	}
+
+	/**
+	 * Returns the schema generated from the JAXB bindings of the plan's context, compiling it on
+	 * first use. Compiled schemas are immutable and shared by all validating (un)marshallers.
+	 *
+	 * @param plan the binding plan
+	 * @return the shared schema
+	 */
+	public Schema getSchema(RosettaNetBindingPlan plan) throws Exception {
+		JAXBContext context = plan.getContext();
+		return contextSchemas.computeIfAbsent(context, c -> new SchemaHolder(() -> generateSchema(c))).get();
+	}
+
+	/**
+	 * Returns the schema loaded from an XSD resource, compiling it on first use.
+	 *
+	 * @param camelContext the camel context resolving the resource
+	 * @param resource the resource, e.g. classpath:xsd/PurchaseOrderRequest.xsd
+	 * @return the shared schema
+	 */
+	public Schema getSchema(CamelContext camelContext, String resource) throws Exception {
+		return schemas.computeIfAbsent("resource:" + resource, k -> new SchemaHolder(() -> {
+			URL url = ResourceHelper.resolveMandatoryResourceAsUrl(camelContext, resource);
+			return newSchemaFactory().newSchema(url);
+		})).get();
+	}
+
+	/**
+	 * Generates the XML schema documents of a JAXB context in memory and compiles them together,
+	 * resolving the imports between them without touching the file system.
+	 */
+	static Schema generateSchema(JAXBContext context) throws Exception {
+		Map<String, ByteArrayOutputStream> documents = new LinkedHashMap<>();
+		context.generateSchema(new SchemaOutputResolver() {
+			@Override
+			public Result createOutput(String namespaceUri, String suggestedFileName) {
+				ByteArrayOutputStream document = new ByteArrayOutputStream();
+				documents.put(suggestedFileName, document);
+				StreamResult result = new StreamResult(document);
+				result.setSystemId(SCHEMA_BASE + suggestedFileName);
+				return result;
+			}
+		});
+
+		DOMImplementationLS ls = (DOMImplementationLS) DocumentBuilderFactory.newInstance().newDocumentBuilder()
+				.getDOMImplementation();
+		SchemaFactory factory = newSchemaFactory();
+		factory.setResourceResolver((type, namespaceUri, publicId, systemId, baseUri) -> {
+			String name = systemId != null ? systemId.substring(systemId.lastIndexOf('/') + 1) : null;
+			ByteArrayOutputStream document = name != null ? documents.get(name) : null;
+			if (document == null) {
+				return null;
+			}
+			LSInput input = ls.createLSInput();
+			input.setByteStream(new ByteArrayInputStream(document.toByteArray()));
+			input.setSystemId(SCHEMA_BASE + name);
+			return input;
+		});
+
+		Source[] sources = new Source[documents.size()];
+		int i = 0;
+		for (Map.Entry<String, ByteArrayOutputStream> document : documents.entrySet()) {
+			sources[i++] = new StreamSource(new ByteArrayInputStream(document.getValue().toByteArray()), SCHEMA_BASE + document.getKey());
+		}
+		return factory.newSchema(sources);
+	}
+
+	private static SchemaFactory newSchemaFactory() throws Exception {
+		SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+		return factory;
+	}
+
+	/**
+	 * Resolves the JAXB context path of a message definition from its properties file.
+	 *
+	 * @param msgDef the message definition
+	 * @return the trimmed {@code packages} property
+	 */
+	public String getContextPath(MessageDefinition msgDef) throws Exception {
+		String key = messageKey(msgDef);
+		String contextPath = contextPaths.get(key);
+		if (contextPath != null) {
+			return contextPath;
+		}
+
+		RosettaNetDictionaryIndex index = dictionaryIndex;
+		RosettaNetDictionaryIndex.Entry entry = index != null ? index.find(msgDef.getType(), msgDef.getVersion(), msgDef.getName()) : null;
+		if (entry != null && entry.getContextPath() != null) {
+			// generated at build time, saves loading the message properties file
+			contextPaths.putIfAbsent(key, entry.getContextPath());
+			return entry.getContextPath();
+		}
+
+		Properties properties = RosettaNetDictionary.loadProperties(msgDef.getProperties());
+		contextPath = properties.getProperty("packages");
+		if (contextPath == null || contextPath.trim().isEmpty()) {
+			throw new IllegalArgumentException("No JAXB packages found in properties file: " + msgDef.getProperties());
+		}
+
+		contextPath = contextPath.trim();
+		contextPaths.putIfAbsent(key, contextPath);
+		return contextPath;
+	}
+
+	/**
+	 * Resolves the JAXB context path of a message through the dictionary index, applying the same
+	 * version and message defaults as {@link #getPlan(String, String, String)}, i.e. those of the dictionary.
+	 *
+	 * @param pipType the PIP type
+	 * @param version the version
+	 * @param messageName the message name
+	 * @return the trimmed {@code packages} property
+	 */
+	public String getContextPath(String pipType, String version, String messageName) throws Exception {
+		RosettaNetDictionaryIndex.Entry entry = findEntry(pipType, version, messageName);
+		if (entry != null) {
+			String contextPath = contextPaths.get(entry.toString());
+			if (contextPath == null && entry.getContextPath() != null) {
+				contextPaths.putIfAbsent(entry.toString(), entry.getContextPath());
+				contextPath = entry.getContextPath();
+			}
+			if (contextPath != null) {
+				return contextPath;
+			}
+		}
+		return getContextPath(findDefinition(entry, pipType, version, messageName));
+	}
+
+	static String messageKey(MessageDefinition msgDef) {
+		return msgDef.getType() + ":" + msgDef.getVersion() + ":" + msgDef.getName();
+	}
+
+	@ManagedAttribute(description = "Number of plan and context lookups served by an already built context")
+	public long getHits() {
+		return hits.sum();
+	}
+
+	@ManagedAttribute(description = "Number of lookups that had to build a new context")
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	@ManagedAttribute(description = "Share of lookups served by an already built context, between 0 and 1")
+	public double getHitRatio() {
+		long h = hits.sum();
+		long total = h + misses.sum();
+		return total > 0 ? (double) h / total : 0;
+	}
+
+	@ManagedAttribute(description = "Number of distinct contexts currently held")
+	public int getSize() {
+		return distinctHolders().size();
+	}
+
+	@ManagedAttribute(description = "What contexts are built from: packages, rootClass or unified")
+	public String getContextMode() {
+		return contextMode;
+	}
+
+	/**
+	 * @param contextMode packages, rootClass or unified
+	 */
+	public void setContextMode(String contextMode) {
+		this.contextMode = contextMode;
+	}
+
+	/**
+	 * @param dictionaryIndex index providing context paths generated at build time, may be {@code null}
+	 */
+	public void setDictionaryIndex(RosettaNetDictionaryIndex dictionaryIndex) {
+		this.dictionaryIndex = dictionaryIndex;
+	}
+
+	@ManagedAttribute(description = "Bytes allocated by the building threads while building the contexts currently held, including garbage, not their retained size; -1 if the JVM does not track thread allocation")
+	public long getTotalBuildAllocation() {
+		long total = 0;
+		for (ContextHolder holder : distinctHolders()) {
+			if (holder.buildAllocation < 0) {
+				return -1;
+			}
+			total += holder.buildAllocation;
+		}
+		return total;
+	}
+
+	@ManagedAttribute(description = "Sum of the namespaces bound by each context, namespaces shared between contexts counted once per context")
+	public int getBoundNamespaceCount() {
+		int count = 0;
+		for (ContextHolder holder : distinctHolders()) {
+			count += holder.namespaces.size();
+		}
+		return count;
+	}
+
+	@ManagedAttribute(description = "Number of distinct namespaces bound over all contexts")
+	public int getDistinctNamespaceCount() {
+		Set<String> namespaces = new HashSet<>();
+		for (ContextHolder holder : distinctHolders()) {
+			namespaces.addAll(holder.namespaces);
+		}
+		return namespaces.size();
+	}
+
+	@ManagedOperation(description = "Build time, allocation and bound namespaces per context")
+	public String dumpContexts() {
+		StringBuilder sb = new StringBuilder();
+		for (ContextHolder holder : distinctHolders()) {
+			if (holder.context != null) {
+				sb.append(holder).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	private Collection<ContextHolder> distinctHolders() {
+		// a unified context is registered under the context path of every message it serves
+		Set<ContextHolder> holders = Collections.newSetFromMap(new IdentityHashMap<>());
+		holders.addAll(contexts.values());
+		return holders;
+	}
+
+	@ManagedAttribute(description = "Number of binding plans currently cached")
+	public int getPlanCacheCount() {
+		return plans.size();
+	}
+
+	@ManagedAttribute(description = "Number of compiled validation schemas currently held")
+	public int getSchemaCount() {
+		return schemas.size() + contextSchemas.size();
+	}
+
+	@ManagedAttribute(description = "Maximum number of binding plans cached")
+	public int getPlanCacheSize() {
+		return planCacheSize;
+	}
+
+	/**
+	 * @param planCacheSize maximum number of binding plans cached
+	 */
+	public void setPlanCacheSize(int planCacheSize) {
+		this.planCacheSize = planCacheSize;
+		this.plans = LRUCacheFactory.newLRUCache(planCacheSize);
+	}
+
+	@ManagedAttribute(description = "Total time spent building contexts in millis")
+	public long getTotalBuildTime() {
+		return TimeUnit.NANOSECONDS.toMillis(totalBuildTime.get());
+	}
+
+	@ManagedAttribute(description = "Longest single context build in millis")
+	public long getMaxBuildTime() {
+		return TimeUnit.NANOSECONDS.toMillis(maxBuildTime.get());
+	}
+
+	@ManagedOperation(description = "Reset the hit/miss and build time statistics")
+	public void resetStatistics() {
+		hits.reset();
+		misses.reset();
+		totalBuildTime.set(0);
+		maxBuildTime.set(0);
+	}
+
+	@ManagedOperation(description = "Discard all cached contexts, schemas and binding plans")
+	public void clear() {
+		contexts.clear();
+		contextPaths.clear();
+		schemas.clear();
+		contextSchemas.clear();
+		plans = LRUCacheFactory.newLRUCache(planCacheSize);
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		LOG.debug("Stopping RosettaNet context registry (size: {}, hits: {}, misses: {})", getSize(), getHits(), getMisses());
+		clear();
+	}
+
+	private static final class SchemaHolder {
+		private final Callable<Schema> compiler;
+		private volatile Schema schema;
+
+		SchemaHolder(Callable<Schema> compiler) {
+			this.compiler = compiler;
+		}
+
+		Schema get() throws Exception {
+			Schema answer = schema;
+			if (answer == null) {
+				synchronized (this) {
+					answer = schema;
+					if (answer == null) {
+						long start = System.nanoTime();
+						answer = schema = compiler.call();
+						LOG.debug("Compiled validation schema in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+					}
+				}
+			}
+			return answer;
+		}
+	}
+
+	@FunctionalInterface
+	private interface ContextBuilder {
+		JAXBContext build() throws JAXBException;
+	}
+
+	private final class ContextHolder {
+		private final String key;
+		private final ContextBuilder builder;
+		private volatile JAXBContext context;
+		private long buildTime;
+		private long buildAllocation = -1;
+		private Collection<String> namespaces = Collections.emptySet();
+
+		ContextHolder(String key, ContextBuilder builder) {
+			this.key = key;
+			this.builder = builder;
+		}
+
+		JAXBContext get() throws JAXBException {
+			JAXBContext answer = context;
+			if (answer != null) {
+				hits.increment();
+				return answer;
+			}
+
+			synchronized (this) {
+				if (context == null) {
+					misses.increment();
+					long allocatedBefore = allocatedBytes();
+					long start = System.nanoTime();
+					JAXBContext built = builder.build();
+					long elapsed = System.nanoTime() - start;
+					long allocatedAfter = allocatedBytes();
+					buildTime = elapsed;
+					buildAllocation = allocatedBefore >= 0 && allocatedAfter > allocatedBefore ? allocatedAfter - allocatedBefore : -1;
+					if (built instanceof JAXBRIContext riContext) {
+						namespaces = Set.copyOf(riContext.getKnownNamespaceURIs());
+					}
+					totalBuildTime.addAndGet(elapsed);
+					maxBuildTime.accumulateAndGet(elapsed, Math::max);
+					LOG.debug("Built JAXB context for {} in {} ms", key, TimeUnit.NANOSECONDS.toMillis(elapsed));
+					context = built;
+				} else {
+					hits.increment();
+				}
+				return context;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return key + ": built in " + TimeUnit.NANOSECONDS.toMillis(buildTime) + " ms, allocated while building "
+					+ (buildAllocation >= 0 ? buildAllocation / 1024 + " KB" : "n/a") + ", " + namespaces.size() + " namespaces";
+		}
+	}
+
+	/**
+	 * @return bytes allocated so far by the current thread, or -1 if the JVM does not track it
+	 */
+	private static long allocatedBytes() {
+		try {
+			ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+			if (threads instanceof com.sun.management.ThreadMXBean sunThreads && sunThreads.isThreadAllocatedMemorySupported()
+					&& sunThreads.isThreadAllocatedMemoryEnabled()) {
+				// 0 or -1 where the thread is not tracked, e.g. virtual threads on some JDKs
+				long bytes = sunThreads.getCurrentThreadAllocatedBytes();
+				return bytes > 0 ? bytes : -1;
+			}
+		} catch (LinkageError | UnsupportedOperationException e) {
+			// com.sun.management is not available on every JVM
+		}
+		return -1;
+	}
+
+}
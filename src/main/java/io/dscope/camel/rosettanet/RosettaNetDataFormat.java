@@ -0,0 +1,313 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.glassfish.jaxb.runtime.marshaller.NamespacePrefixMapper;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.DataFormat;
+import org.apache.camel.spi.DataFormatName;
+import org.apache.camel.spi.annotations.Dataformat;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * RosettaNet data format for the {@code marshal()} and {@code unmarshal()} DSL.
+ * <p>
+ * Documents are written straight to the output stream and read straight from the message body,
+ * without String intermediates, through the same {@link RosettaNetOperations} as the
+ * {@code rosettanet} endpoints: JAXB contexts of the component context registry, pooled
+ * (un)marshallers configured like the endpoint ones, and metrics. The message is taken from the
+ * pipType, version and messageName options, then from the headers of the same name; marshal falls
+ * back to the document class and unmarshal with autoDetect to the document root element.
+ */
+@Dataformat("rosettanet")
+public class RosettaNetDataFormat extends ServiceSupport implements DataFormat, DataFormatName, CamelContextAware {
+
+	private CamelContext camelContext;
+	private String pipType;
+	private String version;
+	private String messageName;
+	private boolean autoDetect;
+	private boolean prettyPrint;
+	private String encoding = "UTF-8";
+	private boolean fragment;
+	private String schemaLocation;
+	private String noNamespaceSchemaLocation;
+	private NamespacePrefixMapper namespacePrefixMapper;
+	private String poolType = RosettaNetConfiguration.POOL_BOUNDED;
+	private int poolMaxSize = 32;
+	private long poolIdleTimeout = 300000;
+
+	private RosettaNetOperations operations;
+
+	@Override
+	public String getDataFormatName() {
+		return "rosettanet";
+	}
+
+	@Override
+	public void marshal(Exchange exchange, Object graph, OutputStream stream) throws Exception {
+		operations.marshal(exchange, graph, stream);
+	}
+
+	@Override
+	public Object unmarshal(Exchange exchange, InputStream stream) throws Exception {
+		return unmarshal(exchange, (Object) stream);
+	}
+
+	@Override
+	public Object unmarshal(Exchange exchange, Object body) throws Exception {
+		// the operation reads the message body, which autoDetect replaces by a replayable copy
+		exchange.getIn().setBody(body);
+		operations.unmarshal(exchange);
+		return exchange.getMessage().getBody();
+	}
+
+	/**
+	 * Creates the operations of this data format from its options.
+	 *
+	 * @param component the {@code rosettanet} component
+	 * @return new operations, started and stopped with the data format
+	 */
+	protected RosettaNetOperations createOperations(RosettaNetComponent component) {
+		RosettaNetOperations operations = new RosettaNetOperations(component);
+		operations.setPipType(pipType);
+		operations.setVersion(version);
+		operations.setMessageName(messageName);
+		operations.setAutoDetect(autoDetect);
+		operations.setPrettyPrint(prettyPrint);
+		operations.setEncoding(encoding);
+		operations.setFragment(fragment);
+		operations.setSchemaLocation(schemaLocation);
+		operations.setNoNamespaceSchemaLocation(noNamespaceSchemaLocation);
+		operations.setNamespacePrefixMapper(namespacePrefixMapper);
+		operations.setPoolType(poolType);
+		operations.setPoolMaxSize(poolMaxSize);
+		operations.setPoolIdleTimeout(poolIdleTimeout);
+		return operations;
+	}
+
+	@Override
+	protected void doStart() throws Exception {
+		operations = createOperations(camelContext.getComponent("rosettanet", RosettaNetComponent.class));
+		ServiceHelper.startService(operations);
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		ServiceHelper.stopService(operations);
+	}
+
+	@Override
+	public CamelContext getCamelContext() {
+		return camelContext;
+	}
+
+	@Override
+	public void setCamelContext(CamelContext camelContext) {
+		this.camelContext = camelContext;
+	}
+
+	/**
+	 * @return pipType
+	 */
+	public String getPipType() {
+		return pipType;
+	}
+
+	/**
+	 * @param pipType the PIP type (e.g., PIP3A4)
+	 */
+	public void setPipType(String pipType) {
+		this.pipType = pipType;
+	}
+
+	/**
+	 * @return version
+	 */
+	public String getVersion() {
+		return version;
+	}
+
+	/**
+	 * @param version the message version (e.g., 02_05)
+	 */
+	public void setVersion(String version) {
+		this.version = version;
+	}
+
+	/**
+	 * @return messageName
+	 */
+	public String getMessageName() {
+		return messageName;
+	}
+
+	/**
+	 * @param messageName the message name (e.g., PurchaseOrderRequest)
+	 */
+	public void setMessageName(String messageName) {
+		this.messageName = messageName;
+	}
+
+	/**
+	 * @return autoDetect
+	 */
+	public boolean isAutoDetect() {
+		return autoDetect;
+	}
+
+	/**
+	 * @param autoDetect whether unmarshal detects the message from the root element
+	 */
+	public void setAutoDetect(boolean autoDetect) {
+		this.autoDetect = autoDetect;
+	}
+
+	/**
+	 * @return prettyPrint
+	 */
+	public boolean isPrettyPrint() {
+		return prettyPrint;
+	}
+
+	/**
+	 * @param prettyPrint whether marshal indents the XML output
+	 */
+	public void setPrettyPrint(boolean prettyPrint) {
+		this.prettyPrint = prettyPrint;
+	}
+
+	/**
+	 * @return encoding
+	 */
+	public String getEncoding() {
+		return encoding;
+	}
+
+	/**
+	 * @param encoding the encoding used by marshal
+	 */
+	public void setEncoding(String encoding) {
+		this.encoding = encoding;
+	}
+
+	/**
+	 * @return fragment
+	 */
+	public boolean isFragment() {
+		return fragment;
+	}
+
+	/**
+	 * @param fragment whether marshal omits the XML declaration
+	 */
+	public void setFragment(boolean fragment) {
+		this.fragment = fragment;
+	}
+
+	/**
+	 * @return schemaLocation
+	 */
+	public String getSchemaLocation() {
+		return schemaLocation;
+	}
+
+	/**
+	 * @param schemaLocation value of the xsi:schemaLocation attribute written by marshal
+	 */
+	public void setSchemaLocation(String schemaLocation) {
+		this.schemaLocation = schemaLocation;
+	}
+
+	/**
+	 * @return noNamespaceSchemaLocation
+	 */
+	public String getNoNamespaceSchemaLocation() {
+		return noNamespaceSchemaLocation;
+	}
+
+	/**
+	 * @param noNamespaceSchemaLocation value of the xsi:noNamespaceSchemaLocation attribute written by marshal
+	 */
+	public void setNoNamespaceSchemaLocation(String noNamespaceSchemaLocation) {
+		this.noNamespaceSchemaLocation = noNamespaceSchemaLocation;
+	}
+
+	/**
+	 * @return namespacePrefixMapper
+	 */
+	public NamespacePrefixMapper getNamespacePrefixMapper() {
+		return namespacePrefixMapper;
+	}
+
+	/**
+	 * @param namespacePrefixMapper custom namespace prefix mapper used by marshal
+	 */
+	public void setNamespacePrefixMapper(NamespacePrefixMapper namespacePrefixMapper) {
+		this.namespacePrefixMapper = namespacePrefixMapper;
+	}
+
+	/**
+	 * @return poolType
+	 */
+	public String getPoolType() {
+		return poolType;
+	}
+
+	/**
+	 * @param poolType bounded, threadLocal or none
+	 */
+	public void setPoolType(String poolType) {
+		this.poolType = poolType;
+	}
+
+	/**
+	 * @return poolMaxSize
+	 */
+	public int getPoolMaxSize() {
+		return poolMaxSize;
+	}
+
+	/**
+	 * @param poolMaxSize maximum idle instances kept per JAXB context
+	 */
+	public void setPoolMaxSize(int poolMaxSize) {
+		this.poolMaxSize = poolMaxSize;
+	}
+
+	/**
+	 * @return poolIdleTimeout
+	 */
+	public long getPoolIdleTimeout() {
+		return poolIdleTimeout;
+	}
+
+	/**
+	 * @param poolIdleTimeout time in millis after which idle pooled instances are evicted, zero or negative disables eviction
+	 */
+	public void setPoolIdleTimeout(long poolIdleTimeout) {
+		this.poolIdleTimeout = poolIdleTimeout;
+	}
+
+}
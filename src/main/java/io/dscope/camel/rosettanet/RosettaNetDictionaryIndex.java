@@ -0,0 +1,418 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory index of the message entries of {@code RosettaNet_Dictionary.xml}.
+ * <p>
+ * The dictionary is read once with StAX and indexed by (PIP type, version, message name), by PIP type
+ * (versions in ascending order) and by Java class name, all without loading any message class. The
+ * root element index is built on first use, which loads (without initializing) the root class of
+ * every message.
+ * <p>
+ * When the build generated {@value #GENERATED_INDEX_RESOURCE} (see the {@code native-metadata} profile),
+ * that index is read instead: it also carries the context path and root element of every message, so
+ * neither the dictionary nor any message class has to be loaded to build the index.
+ * <p>
+ * The component keeps one instance, see {@link RosettaNetComponent#getDictionaryIndex()}, which is
+ * shared by producers, type converters and tooling.
+ */
+public class RosettaNetDictionaryIndex {
+
+	public static final String DICTIONARY_RESOURCE = "/RosettaNet_Dictionary.xml";
+
+	public static final String GENERATED_INDEX_RESOURCE = "/META-INF/rosettanet/messages.idx";
+
+	private static final Logger LOG = LoggerFactory.getLogger(RosettaNetDictionaryIndex.class);
+
+	private static final Comparator<Entry> BY_VERSION = Comparator.comparing(Entry::getVersion);
+
+	private final List<Entry> entries;
+	private final Map<String, Entry> byKey = new HashMap<>();
+	private final Map<String, List<Entry>> byPipType = new LinkedHashMap<>();
+	private final Map<String, Entry> byClassName = new HashMap<>();
+	private volatile Map<QName, List<Entry>> byRootElement;
+
+	public RosettaNetDictionaryIndex(List<Entry> entries) {
+		this.entries = List.copyOf(entries);
+
+		for (Entry entry : this.entries) {
+			byKey.putIfAbsent(key(entry.getPipType(), entry.getVersion(), entry.getName()), entry);
+			byPipType.computeIfAbsent(entry.getPipType(), k -> new ArrayList<>()).add(entry);
+			byClassName.putIfAbsent(entry.getRootClassName(), entry);
+			byClassName.putIfAbsent(entry.getRootClassName() + "Type", entry);
+		}
+		// stable sort keeps dictionary order between messages of the same version
+		byPipType.values().forEach(list -> list.sort(BY_VERSION));
+	}
+
+	/**
+	 * Reads the generated index from the classpath if present, otherwise the dictionary.
+	 *
+	 * @return a new index
+	 */
+	public static RosettaNetDictionaryIndex load() throws Exception {
+		try (InputStream generated = RosettaNetDictionaryIndex.class.getResourceAsStream(GENERATED_INDEX_RESOURCE)) {
+			if (generated != null) {
+				return loadGenerated(generated);
+			}
+		}
+		try (InputStream is = RosettaNetDictionaryIndex.class.getResourceAsStream(DICTIONARY_RESOURCE)) {
+			if (is == null) {
+				throw new IllegalStateException("Could not find " + DICTIONARY_RESOURCE + " in classpath");
+			}
+			return load(is);
+		}
+	}
+
+	/**
+	 * Reads a dictionary document.
+	 *
+	 * @param is the dictionary XML
+	 * @return a new index
+	 */
+	public static RosettaNetDictionaryIndex load(InputStream is) throws Exception {
+		List<Entry> entries = new ArrayList<>();
+
+		XMLStreamReader reader = RosettaNetXmlHelper.createXMLStreamReader(is);
+		try {
+			while (reader.hasNext()) {
+				if (reader.next() == XMLStreamConstants.START_ELEMENT && "message".equals(reader.getLocalName())) {
+					String name = reader.getAttributeValue(null, "name");
+					String packageName = reader.getAttributeValue(null, "package");
+					String pipType = reader.getAttributeValue(null, "type");
+					String version = reader.getAttributeValue(null, "version");
+
+					if (isSet(name) && isSet(packageName) && isSet(pipType) && isSet(version)) {
+						entries.add(new Entry(pipType, version, name, packageName));
+					}
+				}
+			}
+		} finally {
+			reader.close();
+		}
+
+		LOG.debug("Loaded {} message definitions from RosettaNet dictionary", entries.size());
+		return new RosettaNetDictionaryIndex(entries);
+	}
+
+	/**
+	 * Reads an index generated at build time: one tab separated line per message with PIP type,
+	 * version, name, package, context path, root element namespace and root element local name.
+	 *
+	 * @param is the generated index
+	 * @return a new index
+	 */
+	public static RosettaNetDictionaryIndex loadGenerated(InputStream is) throws Exception {
+		List<Entry> entries = new ArrayList<>();
+
+		BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] fields = line.split("\t", -1);
+			if (fields.length < 7) {
+				throw new IllegalArgumentException("Invalid line in generated RosettaNet index: " + line);
+			}
+			entries.add(new Entry(fields[0], fields[1], fields[2], fields[3], fields[4], new QName(fields[5], fields[6])));
+		}
+
+		LOG.debug("Loaded {} message definitions from generated RosettaNet index", entries.size());
+		return new RosettaNetDictionaryIndex(entries);
+	}
+
+	/**
+	 * @return all message entries in dictionary order
+	 */
+	public List<Entry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Finds a message by its coordinates.
+	 * <p>
+	 * A {@code null} version selects the latest version of the PIP, a {@code null} message name
+	 * selects the first message of that version in dictionary order.
+	 *
+	 * @param pipType the PIP type (e.g., PIP3A4)
+	 * @param version the version (e.g., 02_05), may be {@code null}
+	 * @param messageName the message name (e.g., PurchaseOrderRequest), may be {@code null}
+	 * @return the matching entry, or {@code null}
+	 */
+	public Entry find(String pipType, String version, String messageName) {
+		if (pipType == null) {
+			return null;
+		}
+		if (version != null && messageName != null) {
+			return byKey.get(key(pipType, version, messageName));
+		}
+
+		String selectedVersion = version != null ? version : getLatestVersion(pipType);
+		for (Entry entry : getEntries(pipType)) {
+			if (entry.getVersion().equals(selectedVersion) && (messageName == null || messageName.equals(entry.getName()))) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param pipType the PIP type
+	 * @return the messages of the PIP ordered by ascending version, empty if unknown
+	 */
+	public List<Entry> getEntries(String pipType) {
+		List<Entry> list = byPipType.get(pipType);
+		return list != null ? Collections.unmodifiableList(list) : Collections.emptyList();
+	}
+
+	/**
+	 * @return the PIP types in dictionary order
+	 */
+	public List<String> getPipTypes() {
+		return List.copyOf(byPipType.keySet());
+	}
+
+	/**
+	 * @param pipType the PIP type
+	 * @return the highest version of the PIP, or {@code null} if unknown
+	 */
+	public String getLatestVersion(String pipType) {
+		List<Entry> list = byPipType.get(pipType);
+		return list != null && !list.isEmpty() ? list.get(list.size() - 1).getVersion() : null;
+	}
+
+	/**
+	 * Finds a message in the latest version of a PIP.
+	 *
+	 * @param pipType the PIP type
+	 * @param messageName the message name, may be {@code null}
+	 * @return the matching entry, or {@code null}
+	 */
+	public Entry findLatest(String pipType, String messageName) {
+		return find(pipType, null, messageName);
+	}
+
+	/**
+	 * Finds the message a JAXB class belongs to, either its root class or the {@code ...Type} class
+	 * of its root element. Superclasses are considered so subclasses of generated types match too.
+	 *
+	 * @param type a JAXB class
+	 * @return the matching entry, or {@code null}
+	 */
+	public Entry findByClass(Class<?> type) {
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			Entry entry = byClassName.get(current.getName());
+			if (entry != null) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the message whose root element has the given name.
+	 *
+	 * @param rootElement qualified name of the document root element
+	 * @param preferredPipType PIP type picked when several messages share the root element, may be {@code null}
+	 * @return the matching entry, or {@code null}
+	 */
+	public Entry findByRootElement(QName rootElement, String preferredPipType) {
+		List<Entry> candidates = getRootElementIndex().getOrDefault(rootElement, Collections.emptyList());
+		if (candidates.isEmpty()) {
+			return null;
+		}
+		if (preferredPipType != null) {
+			for (Entry entry : candidates) {
+				if (preferredPipType.equals(entry.getPipType())) {
+					return entry;
+				}
+			}
+		}
+		return candidates.get(0);
+	}
+
+	private Map<QName, List<Entry>> getRootElementIndex() {
+		Map<QName, List<Entry>> index = byRootElement;
+		if (index == null) {
+			synchronized (this) {
+				index = byRootElement;
+				if (index == null) {
+					index = new HashMap<>();
+					for (Entry entry : entries) {
+						QName rootElement = entry.getRootElement();
+						if (rootElement != null) {
+							index.computeIfAbsent(rootElement, k -> new ArrayList<>(1)).add(entry);
+						}
+					}
+					byRootElement = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	private static String key(String pipType, String version, String messageName) {
+		return pipType + ":" + version + ":" + messageName;
+	}
+
+	private static boolean isSet(String value) {
+		return value != null && !value.isEmpty();
+	}
+
+	/**
+	 * A message of the dictionary. The root class is loaded lazily.
+	 */
+	public static final class Entry {
+		private final String pipType;
+		private final String version;
+		private final String name;
+		private final String packageName;
+		private final String contextPath;
+		private final QName generatedRootElement;
+
+		private volatile boolean resolved;
+		private Class<?> rootClass;
+		private QName rootElement;
+
+		public Entry(String pipType, String version, String name, String packageName) {
+			this(pipType, version, name, packageName, null, null);
+		}
+
+		/**
+		 * @param contextPath JAXB context path generated at build time, may be {@code null}
+		 * @param rootElement root element generated at build time, may be {@code null}
+		 */
+		public Entry(String pipType, String version, String name, String packageName, String contextPath, QName rootElement) {
+			this.pipType = pipType;
+			this.version = version;
+			this.name = name;
+			this.packageName = packageName;
+			this.contextPath = contextPath;
+			this.generatedRootElement = rootElement;
+		}
+
+		/**
+		 * @return the PIP type (e.g., PIP3A4)
+		 */
+		public String getPipType() {
+			return pipType;
+		}
+
+		/**
+		 * @return the version (e.g., 02_05)
+		 */
+		public String getVersion() {
+			return version;
+		}
+
+		/**
+		 * @return the message name (e.g., PurchaseOrderRequest)
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the Java package of the message
+		 */
+		public String getPackageName() {
+			return packageName;
+		}
+
+		/**
+		 * @return the JAXB context path, or {@code null} unless read from the generated index
+		 */
+		public String getContextPath() {
+			return contextPath;
+		}
+
+		/**
+		 * @return fully qualified name of the root class, without loading it
+		 */
+		public String getRootClassName() {
+			return packageName + "." + name;
+		}
+
+		/**
+		 * @return the root class, or {@code null} if not present on the classpath
+		 */
+		public Class<?> getRootClass() {
+			resolve();
+			return rootClass;
+		}
+
+		/**
+		 * @return the root element name, or {@code null} if the root class is missing or not annotated
+		 */
+		public QName getRootElement() {
+			if (generatedRootElement != null) {
+				return generatedRootElement;
+			}
+			resolve();
+			return rootElement;
+		}
+
+		private void resolve() {
+			if (resolved) {
+				return;
+			}
+			synchronized (this) {
+				if (!resolved) {
+					try {
+						rootClass = Class.forName(getRootClassName(), false, Entry.class.getClassLoader());
+						XmlRootElement root = rootClass.getAnnotation(XmlRootElement.class);
+						if (root != null) {
+							rootElement = new QName(root.namespace(), root.name());
+						}
+					} catch (ClassNotFoundException | LinkageError e) {
+						LOG.trace("No root class for message {}.{}", packageName, name);
+					}
+					resolved = true;
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return pipType + ":" + version + ":" + name;
+		}
+	}
+
+}
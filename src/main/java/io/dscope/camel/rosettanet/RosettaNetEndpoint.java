@@ -16,25 +16,44 @@
 
 package io.dscope.camel.rosettanet;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jaxb.runtime.marshaller.NamespacePrefixMapper;
+
 import org.apache.camel.Category;
 import org.apache.camel.Consumer;
 import org.apache.camel.Processor;
 import org.apache.camel.Producer;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.spi.Metadata;
 import org.apache.camel.spi.UriEndpoint;
 import org.apache.camel.spi.UriParam;
 import org.apache.camel.spi.UriPath;
-import org.apache.camel.support.DefaultEndpoint;
+import org.apache.camel.support.ScheduledPollEndpoint;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.UnsafeUriCharactersEncoder;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * RosettaNet endpoint: a producer running marshal, unmarshal, split or extractHeaders, and for
+ * {@code unmarshal} with a {@code directory} a polling consumer. The scheduled poll options inherited
+ * from {@link ScheduledPollEndpoint} ({@code delay}, {@code initialDelay}, {@code scheduler},
+ * {@code backoff*}, ...) only apply to that consumer and are ignored by producers.
+ */
+@ManagedResource(description = "Managed RosettaNetEndpoint")
 @UriEndpoint(firstVersion = "4.15.0", scheme = "rosettanet", syntax = "rosettanet", title = "RosettaNet Document Processor", category = { Category.DOCUMENT})
-public class RosettaNetEndpoint extends DefaultEndpoint {
+public class RosettaNetEndpoint extends ScheduledPollEndpoint {
 	
 	private static final Logger LOG = LoggerFactory.getLogger(RosettaNetEndpoint.class);
 	
-	@UriPath(label = "common",  enums = "marshal,unmarshal")
+	@UriPath(label = "common",  enums = "marshal,unmarshal,split,extractHeaders")
 	@Metadata(description = "The type of RosettaNet operation to use", required = true)
     private String methodType;	
 	
@@ -54,6 +73,142 @@ public class RosettaNetEndpoint extends DefaultEndpoint {
     @Metadata(description = "The message name of RosettaNet message (e.g., PurchaseOrderRequest)")
     private String messageName;     
     
+    @UriParam(label = "common", defaultValue = "false")
+    @Metadata(description = "Whether unmarshal detects PIP type, version and message name from the root element of the document instead of the endpoint options and headers")
+    private boolean autoDetect;
+    
+    @UriParam(label = "producer", defaultValue = RosettaNetConfiguration.OUTPUT_STRING, enums = "string,bytes,stream")
+    @Metadata(description = "The body type produced by marshal: a String, a byte array, or a stream cache that spools large documents to disk")
+    private String outputType = RosettaNetConfiguration.OUTPUT_STRING;
+    
+    @UriParam(label = "producer", defaultValue = "false")
+    @Metadata(description = "Whether marshal indents the XML output. Compact output is smaller and cheaper to produce")
+    private boolean prettyPrint;
+    
+    @UriParam(label = "producer", defaultValue = "UTF-8")
+    @Metadata(description = "The encoding used by marshal")
+    private String encoding = "UTF-8";
+    
+    @UriParam(label = "producer,advanced", defaultValue = "false")
+    @Metadata(description = "Whether marshal omits the XML declaration, e.g. when embedding the document in another one")
+    private boolean fragment;
+    
+    @UriParam(label = "producer,advanced")
+    @Metadata(description = "Value of the xsi:schemaLocation attribute written by marshal")
+    private String schemaLocation;
+    
+    @UriParam(label = "producer,advanced")
+    @Metadata(description = "Value of the xsi:noNamespaceSchemaLocation attribute written by marshal")
+    private String noNamespaceSchemaLocation;
+    
+    @UriParam(label = "producer,advanced")
+    @Metadata(description = "Custom namespace prefix mapper used by marshal, see RosettaNetNamespacePrefixMapper to declare all namespaces once on the root element")
+    private NamespacePrefixMapper namespacePrefixMapper;
+    
+    @UriParam(label = "producer", defaultValue = "ProductLineItem")
+    @Metadata(description = "Local name of the repeating element emitted one by one by split")
+    private String splitElement = "ProductLineItem";
+    
+    @UriParam(label = "producer,advanced")
+    @Metadata(description = "Class the split element is bound to, by default looked up from the JAXB properties of the message root class")
+    private String splitType;
+    
+    @UriParam(label = "producer")
+    @Metadata(description = "Values set as headers by extractHeaders, as comma separated name=Path/Of/Local/Names entries below the root element. By default documentIdentifier, documentType, senderId and receiverId are read from the DocumentHeader")
+    private String headerPaths;
+    
+    @UriParam(label = "producer", defaultValue = "false")
+    @Metadata(description = "Whether the body is a List, Iterable, Stream, Iterator or array of documents processed in parallel on the worker pool. The result is a list of RosettaNetBatchResult in input order, a failed document does not fail the batch")
+    private boolean batch;
+    
+    @UriParam(label = "producer,advanced")
+    @Metadata(description = "Custom executor processing batch documents instead of the worker pool defined by workerType and concurrentConsumers")
+    private ExecutorService batchExecutor;
+    
+    @UriParam(label = "producer", defaultValue = "false")
+    @Metadata(description = "Whether marshal, unmarshal, split and extractHeaders run on the async executor instead of the calling thread, which is released immediately")
+    private boolean asyncExecution;
+    
+    @UriParam(label = "producer,advanced")
+    @Metadata(description = "Custom executor used by asyncExecution, by default one virtual thread per message")
+    private ExecutorService asyncExecutor;
+    
+    @UriParam(label = "producer", defaultValue = "1000")
+    @Metadata(description = "Maximum number of messages queued or running on the async executor, zero or negative for no limit")
+    private int asyncMaxPending = 1000;
+    
+    @UriParam(label = "producer", defaultValue = RosettaNetConfiguration.ASYNC_CALLER_RUNS, enums = "abort,callerRuns")
+    @Metadata(description = "What happens to a message when asyncMaxPending is reached: fail it with a RejectedExecutionException, or process it on the calling thread")
+    private String asyncRejectionPolicy = RosettaNetConfiguration.ASYNC_CALLER_RUNS;
+    
+    @UriParam(label = "common", defaultValue = "10485760")
+    @Metadata(description = "Size in bytes from which File, Path and local GenericFile bodies and polled files are memory-mapped instead of read into the heap, zero or negative disables mapping")
+    private long mappedFileThreshold = 10485760;
+    
+    @UriParam(label = "common", defaultValue = RosettaNetConfiguration.VALIDATE_NONE, enums = "none,inbound,outbound,both")
+    @Metadata(description = "Which documents are validated against the message schema: none, unmarshalled (inbound), marshalled (outbound) or both")
+    private String validate = RosettaNetConfiguration.VALIDATE_NONE;
+    
+    @UriParam(label = "common,advanced")
+    @Metadata(description = "XSD resource (e.g. classpath:xsd/PurchaseOrderRequest.xsd) to validate against instead of the schema generated from the JAXB bindings")
+    private String validationSchema;
+    
+    @UriParam(label = "advanced", defaultValue = RosettaNetConfiguration.POOL_BOUNDED, enums = "bounded,threadLocal,none")
+    @Metadata(description = "How marshaller and unmarshaller instances are reused: a bounded shared pool (safe for virtual threads), one instance per thread, or none")
+    private String poolType = RosettaNetConfiguration.POOL_BOUNDED;
+    
+    @UriParam(label = "advanced", defaultValue = "32")
+    @Metadata(description = "Maximum number of idle marshallers and unmarshallers kept per JAXB context by the bounded pool")
+    private int poolMaxSize = 32;
+    
+    @UriParam(label = "advanced", defaultValue = "300000")
+    @Metadata(description = "Time in millis after which idle pooled instances are evicted, zero or negative disables eviction")
+    private long poolIdleTimeout = 300000;
+    
+    @UriParam(label = "consumer")
+    @Metadata(description = "Directory polled for RosettaNet documents to unmarshal")
+    private String directory;
+    
+    @UriParam(label = "consumer")
+    @Metadata(description = "Regular expression the names of polled files must match, by default all files not starting with a dot")
+    private String include;
+    
+    @UriParam(label = "consumer", defaultValue = "false")
+    @Metadata(description = "Whether processed files are deleted instead of moved")
+    private boolean delete;
+    
+    @UriParam(label = "consumer", defaultValue = ".done")
+    @Metadata(description = "Directory, relative to the polled directory, processed files are moved to")
+    private String move = ".done";
+    
+    @UriParam(label = "consumer", defaultValue = ".error")
+    @Metadata(description = "Directory, relative to the polled directory, files that failed are moved to")
+    private String moveFailed = ".error";
+    
+    @UriParam(label = "consumer", defaultValue = "1000")
+    @Metadata(description = "Maximum number of files picked up per poll")
+    private int maxMessagesPerPoll = 1000;
+    
+    @UriParam(label = "common", defaultValue = RosettaNetConfiguration.WORKER_PLATFORM, enums = "platform,virtual")
+    @Metadata(description = "Threads processing polled files and batch documents: a fixed pool of platform threads or one virtual thread per document")
+    private String workerType = RosettaNetConfiguration.WORKER_PLATFORM;
+    
+    @UriParam(label = "common", defaultValue = "0")
+    @Metadata(description = "Number of platform worker threads, zero or negative uses the number of available processors")
+    private int concurrentConsumers;
+    
+    @UriParam(label = "common", defaultValue = "0")
+    @Metadata(description = "Maximum number of polled files or batch documents being processed at once, polling and reading the batch body block when reached. Zero or negative uses twice the number of worker threads")
+    private int maxInFlight;
+    
+    private volatile RosettaNetOperations operations;
+    
+    private ExecutorService workerExecutor;
+    
+    private ExecutorService defaultAsyncExecutor;
+    
+    private volatile Semaphore asyncSlots;
+    
     
     public RosettaNetEndpoint(String uri, RosettaNetComponent component, String type) {
     	super(UnsafeUriCharactersEncoder.encode(uri), component);
@@ -79,6 +234,11 @@ public class RosettaNetEndpoint extends DefaultEndpoint {
     	super(UnsafeUriCharactersEncoder.encode(uri), component);
     }   
 
+	@Override
+	public RosettaNetComponent getComponent() {
+		return (RosettaNetComponent) super.getComponent();
+	}
+
 	@Override
 	public Producer createProducer() throws Exception {
 		Producer producer = new RosettaNetProducer(this);
@@ -88,9 +248,187 @@ public class RosettaNetEndpoint extends DefaultEndpoint {
 	
 	@Override
 	public Consumer createConsumer(Processor processor) throws Exception {
-		// Consumer not implemented yet
-		return null;
-	}	
+		if (!RosettaNetConfiguration.UNMARSHAL_PREFIX.equals(methodType)) {
+			throw new IllegalArgumentException("Only rosettanet:unmarshal endpoints can consume messages, not " + getEndpointUri());
+		}
+		if (ObjectHelper.isEmpty(directory)) {
+			throw new IllegalArgumentException("The directory option is required to consume messages from " + getEndpointUri());
+		}
+
+		RosettaNetConsumer consumer = new RosettaNetConsumer(this, processor);
+		configureConsumer(consumer);
+		return consumer;
+	}
+
+	@ManagedAttribute(description = "Number of marshaller pools, one per JAXB context used by this endpoint")
+	public int getPoolCount() {
+		RosettaNetOperations operations = this.operations;
+		return operations != null ? operations.getPoolCount() : 0;
+	}
+
+	@ManagedAttribute(description = "Number of marshallers and unmarshallers created by the pools of this endpoint")
+	public long getPoolCreated() {
+		RosettaNetOperations operations = this.operations;
+		return operations != null ? operations.getPoolCreated() : 0;
+	}
+
+	@ManagedAttribute(description = "Number of acquisitions served by a pooled marshaller or unmarshaller")
+	public long getPoolReused() {
+		RosettaNetOperations operations = this.operations;
+		return operations != null ? operations.getPoolReused() : 0;
+	}
+
+	@ManagedAttribute(description = "Number of idle marshallers and unmarshallers held by bounded pools")
+	public int getPoolIdle() {
+		RosettaNetOperations operations = this.operations;
+		return operations != null ? operations.getPoolIdle() : 0;
+	}
+
+	/**
+	 * @return the operations run by the producer and consumer of this endpoint, created when the endpoint starts
+	 */
+	public RosettaNetOperations getOperations() {
+		return operations;
+	}
+
+	/**
+	 * Creates the operations of this endpoint from its options.
+	 *
+	 * @return new operations, started and stopped with the endpoint
+	 */
+	protected RosettaNetOperations createOperations() {
+		RosettaNetOperations operations = new RosettaNetOperations(getComponent());
+		operations.setPipType(pipType);
+		operations.setVersion(version);
+		operations.setMessageName(messageName);
+		operations.setAutoDetect(autoDetect);
+		operations.setOutputType(outputType);
+		operations.setPrettyPrint(prettyPrint);
+		operations.setEncoding(encoding);
+		operations.setFragment(fragment);
+		operations.setSchemaLocation(schemaLocation);
+		operations.setNoNamespaceSchemaLocation(noNamespaceSchemaLocation);
+		operations.setNamespacePrefixMapper(namespacePrefixMapper);
+		operations.setSplitElement(splitElement);
+		operations.setSplitType(splitType);
+		operations.setHeaderPaths(headerPaths);
+		operations.setMappedFileThreshold(mappedFileThreshold);
+		operations.setValidate(validate);
+		operations.setValidationSchema(validationSchema);
+		operations.setPoolType(poolType);
+		operations.setPoolMaxSize(poolMaxSize);
+		operations.setPoolIdleTimeout(poolIdleTimeout);
+		return operations;
+	}
+
+	/**
+	 * @return the custom batch executor, or the endpoint worker pool created on first use
+	 */
+	synchronized ExecutorService resolveBatchExecutor() {
+		if (batchExecutor != null) {
+			return batchExecutor;
+		}
+		if (workerExecutor == null) {
+			workerExecutor = createWorkerExecutor(this, "RosettaNetBatch");
+		}
+		return workerExecutor;
+	}
+
+	/**
+	 * @return the custom async executor, or the endpoint virtual thread executor created on first use
+	 */
+	synchronized ExecutorService resolveAsyncExecutor() {
+		if (asyncExecutor != null) {
+			return asyncExecutor;
+		}
+		if (defaultAsyncExecutor == null) {
+			defaultAsyncExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("RosettaNetAsync-", 0).factory());
+		}
+		return defaultAsyncExecutor;
+	}
+
+	/**
+	 * Reserves room for one more message on the async executor.
+	 *
+	 * @return whether the message may be dispatched, to be paired with {@link #releaseAsyncSlot()}
+	 */
+	boolean tryAcquireAsyncSlot() {
+		return asyncSlots == null || asyncSlots.tryAcquire();
+	}
+
+	void releaseAsyncSlot() {
+		if (asyncSlots != null) {
+			asyncSlots.release();
+		}
+	}
+
+	/**
+	 * @return number of platform worker threads
+	 */
+	int getWorkerCount() {
+		return concurrentConsumers > 0 ? concurrentConsumers : Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Creates a worker pool as configured by the workerType and concurrentConsumers options.
+	 *
+	 * @param source the owner of the pool
+	 * @param name thread name prefix
+	 * @return a new executor, to be released with {@link #shutdownWorkerExecutor(ExecutorService)}
+	 */
+	ExecutorService createWorkerExecutor(Object source, String name) {
+		if (RosettaNetConfiguration.WORKER_VIRTUAL.equals(workerType)) {
+			return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+		}
+		return getCamelContext().getExecutorServiceManager().newFixedThreadPool(source, name, getWorkerCount());
+	}
+
+	/**
+	 * Shuts down a worker pool, waiting for running tasks up to the shutdown timeout.
+	 *
+	 * @param executor a pool created by {@link #createWorkerExecutor(Object, String)}
+	 */
+	void shutdownWorkerExecutor(ExecutorService executor) throws InterruptedException {
+		if (RosettaNetConfiguration.WORKER_VIRTUAL.equals(workerType)) {
+			shutdownVirtualExecutor(executor);
+		} else {
+			getCamelContext().getExecutorServiceManager().shutdownGraceful(executor);
+		}
+	}
+
+	private void shutdownVirtualExecutor(ExecutorService executor) throws InterruptedException {
+		executor.shutdown();
+		if (!executor.awaitTermination(getCamelContext().getShutdownStrategy().getTimeout(), TimeUnit.SECONDS)) {
+			executor.shutdownNow();
+		}
+	}
+
+	@Override
+	protected void doStart() throws Exception {
+		super.doStart();
+
+		asyncSlots = asyncExecution && asyncMaxPending > 0 ? new Semaphore(asyncMaxPending) : null;
+
+		operations = createOperations();
+		ServiceHelper.startService(operations);
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		super.doStop();
+		ServiceHelper.stopService(operations);
+
+		synchronized (this) {
+			if (workerExecutor != null) {
+				shutdownWorkerExecutor(workerExecutor);
+				workerExecutor = null;
+			}
+			if (defaultAsyncExecutor != null) {
+				shutdownVirtualExecutor(defaultAsyncExecutor);
+				defaultAsyncExecutor = null;
+			}
+		}
+	}
 
 	/**
 	 * @return methodType
@@ -160,6 +498,454 @@ public class RosettaNetEndpoint extends DefaultEndpoint {
 	 */
 	public void setMessageName(String messageName) {
 		this.messageName = messageName;
-	}	
+	}
+
+	/**
+	 * @return autoDetect
+	 */
+	public boolean isAutoDetect() {
+		return autoDetect;
+	}
+
+	/**
+	 * @param autoDetect whether unmarshal detects the message from the root element
+	 */
+	public void setAutoDetect(boolean autoDetect) {
+		this.autoDetect = autoDetect;
+	}
+
+	/**
+	 * @return outputType
+	 */
+	public String getOutputType() {
+		return outputType;
+	}
+
+	/**
+	 * @param outputType string, bytes or stream
+	 */
+	public void setOutputType(String outputType) {
+		this.outputType = outputType;
+	}
+
+	/**
+	 * @return prettyPrint
+	 */
+	public boolean isPrettyPrint() {
+		return prettyPrint;
+	}
+
+	/**
+	 * @param prettyPrint whether to indent the XML output
+	 */
+	public void setPrettyPrint(boolean prettyPrint) {
+		this.prettyPrint = prettyPrint;
+	}
+
+	/**
+	 * @return encoding
+	 */
+	public String getEncoding() {
+		return encoding;
+	}
+
+	/**
+	 * @param encoding output encoding
+	 */
+	public void setEncoding(String encoding) {
+		this.encoding = encoding;
+	}
+
+	/**
+	 * @return fragment
+	 */
+	public boolean isFragment() {
+		return fragment;
+	}
+
+	/**
+	 * @param fragment whether to omit the XML declaration
+	 */
+	public void setFragment(boolean fragment) {
+		this.fragment = fragment;
+	}
+
+	/**
+	 * @return schemaLocation
+	 */
+	public String getSchemaLocation() {
+		return schemaLocation;
+	}
+
+	/**
+	 * @param schemaLocation xsi:schemaLocation value
+	 */
+	public void setSchemaLocation(String schemaLocation) {
+		this.schemaLocation = schemaLocation;
+	}
+
+	/**
+	 * @return noNamespaceSchemaLocation
+	 */
+	public String getNoNamespaceSchemaLocation() {
+		return noNamespaceSchemaLocation;
+	}
+
+	/**
+	 * @param noNamespaceSchemaLocation xsi:noNamespaceSchemaLocation value
+	 */
+	public void setNoNamespaceSchemaLocation(String noNamespaceSchemaLocation) {
+		this.noNamespaceSchemaLocation = noNamespaceSchemaLocation;
+	}
+
+	/**
+	 * @return namespacePrefixMapper
+	 */
+	public NamespacePrefixMapper getNamespacePrefixMapper() {
+		return namespacePrefixMapper;
+	}
+
+	/**
+	 * @param namespacePrefixMapper custom namespace prefix mapper
+	 */
+	public void setNamespacePrefixMapper(NamespacePrefixMapper namespacePrefixMapper) {
+		this.namespacePrefixMapper = namespacePrefixMapper;
+	}
+
+	/**
+	 * @return poolType
+	 */
+	public String getPoolType() {
+		return poolType;
+	}
+
+	/**
+	 * @param poolType bounded, threadLocal or none
+	 */
+	public void setPoolType(String poolType) {
+		this.poolType = poolType;
+	}
+
+	/**
+	 * @return poolMaxSize
+	 */
+	public int getPoolMaxSize() {
+		return poolMaxSize;
+	}
+
+	/**
+	 * @param poolMaxSize maximum idle instances per context
+	 */
+	public void setPoolMaxSize(int poolMaxSize) {
+		this.poolMaxSize = poolMaxSize;
+	}
+
+	/**
+	 * @return poolIdleTimeout
+	 */
+	public long getPoolIdleTimeout() {
+		return poolIdleTimeout;
+	}
+
+	/**
+	 * @param poolIdleTimeout idle eviction time in millis
+	 */
+	public void setPoolIdleTimeout(long poolIdleTimeout) {
+		this.poolIdleTimeout = poolIdleTimeout;
+	}
+
+	/**
+	 * @return directory
+	 */
+	public String getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * @param directory polled directory
+	 */
+	public void setDirectory(String directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * @return include
+	 */
+	public String getInclude() {
+		return include;
+	}
+
+	/**
+	 * @param include regular expression polled file names must match
+	 */
+	public void setInclude(String include) {
+		this.include = include;
+	}
+
+	/**
+	 * @return delete
+	 */
+	public boolean isDelete() {
+		return delete;
+	}
+
+	/**
+	 * @param delete whether processed files are deleted
+	 */
+	public void setDelete(boolean delete) {
+		this.delete = delete;
+	}
+
+	/**
+	 * @return move
+	 */
+	public String getMove() {
+		return move;
+	}
+
+	/**
+	 * @param move directory processed files are moved to
+	 */
+	public void setMove(String move) {
+		this.move = move;
+	}
+
+	/**
+	 * @return moveFailed
+	 */
+	public String getMoveFailed() {
+		return moveFailed;
+	}
+
+	/**
+	 * @param moveFailed directory failed files are moved to
+	 */
+	public void setMoveFailed(String moveFailed) {
+		this.moveFailed = moveFailed;
+	}
+
+	/**
+	 * @return maxMessagesPerPoll
+	 */
+	public int getMaxMessagesPerPoll() {
+		return maxMessagesPerPoll;
+	}
+
+	/**
+	 * @param maxMessagesPerPoll maximum files picked up per poll
+	 */
+	public void setMaxMessagesPerPoll(int maxMessagesPerPoll) {
+		this.maxMessagesPerPoll = maxMessagesPerPoll;
+	}
+
+	/**
+	 * @return workerType
+	 */
+	public String getWorkerType() {
+		return workerType;
+	}
+
+	/**
+	 * @param workerType platform or virtual
+	 */
+	public void setWorkerType(String workerType) {
+		this.workerType = workerType;
+	}
+
+	/**
+	 * @return concurrentConsumers
+	 */
+	public int getConcurrentConsumers() {
+		return concurrentConsumers;
+	}
+
+	/**
+	 * @param concurrentConsumers number of platform worker threads
+	 */
+	public void setConcurrentConsumers(int concurrentConsumers) {
+		this.concurrentConsumers = concurrentConsumers;
+	}
+
+	/**
+	 * @return maxInFlight
+	 */
+	public int getMaxInFlight() {
+		return maxInFlight;
+	}
+
+	/**
+	 * @param maxInFlight maximum files or batch documents processed at once
+	 */
+	public void setMaxInFlight(int maxInFlight) {
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * @return batch
+	 */
+	public boolean isBatch() {
+		return batch;
+	}
+
+	/**
+	 * @param batch whether the body is a collection of documents
+	 */
+	public void setBatch(boolean batch) {
+		this.batch = batch;
+	}
+
+	/**
+	 * @return batchExecutor
+	 */
+	public ExecutorService getBatchExecutor() {
+		return batchExecutor;
+	}
+
+	/**
+	 * @param batchExecutor custom executor processing batch documents
+	 */
+	public void setBatchExecutor(ExecutorService batchExecutor) {
+		this.batchExecutor = batchExecutor;
+	}
+
+	/**
+	 * @return mappedFileThreshold
+	 */
+	public long getMappedFileThreshold() {
+		return mappedFileThreshold;
+	}
+
+	/**
+	 * @param mappedFileThreshold size in bytes from which files are memory-mapped
+	 */
+	public void setMappedFileThreshold(long mappedFileThreshold) {
+		this.mappedFileThreshold = mappedFileThreshold;
+	}
+
+	/**
+	 * @return asyncExecution
+	 */
+	public boolean isAsyncExecution() {
+		return asyncExecution;
+	}
+
+	/**
+	 * @param asyncExecution whether operations run on the async executor
+	 */
+	public void setAsyncExecution(boolean asyncExecution) {
+		this.asyncExecution = asyncExecution;
+	}
+
+	/**
+	 * @return asyncExecutor
+	 */
+	public ExecutorService getAsyncExecutor() {
+		return asyncExecutor;
+	}
+
+	/**
+	 * @param asyncExecutor custom executor used by asyncExecution
+	 */
+	public void setAsyncExecutor(ExecutorService asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	/**
+	 * @return asyncMaxPending
+	 */
+	public int getAsyncMaxPending() {
+		return asyncMaxPending;
+	}
+
+	/**
+	 * @param asyncMaxPending maximum messages queued or running on the async executor
+	 */
+	public void setAsyncMaxPending(int asyncMaxPending) {
+		this.asyncMaxPending = asyncMaxPending;
+	}
+
+	/**
+	 * @return asyncRejectionPolicy
+	 */
+	public String getAsyncRejectionPolicy() {
+		return asyncRejectionPolicy;
+	}
+
+	/**
+	 * @param asyncRejectionPolicy abort or callerRuns
+	 */
+	public void setAsyncRejectionPolicy(String asyncRejectionPolicy) {
+		this.asyncRejectionPolicy = asyncRejectionPolicy;
+	}
+
+	/**
+	 * @return splitElement
+	 */
+	public String getSplitElement() {
+		return splitElement;
+	}
+
+	/**
+	 * @param splitElement local name of the repeating element
+	 */
+	public void setSplitElement(String splitElement) {
+		this.splitElement = splitElement;
+	}
+
+	/**
+	 * @return splitType
+	 */
+	public String getSplitType() {
+		return splitType;
+	}
+
+	/**
+	 * @param splitType class name the split element is bound to
+	 */
+	public void setSplitType(String splitType) {
+		this.splitType = splitType;
+	}
+
+	/**
+	 * @return validate
+	 */
+	public String getValidate() {
+		return validate;
+	}
+
+	/**
+	 * @param validate none, inbound, outbound or both
+	 */
+	public void setValidate(String validate) {
+		this.validate = validate;
+	}
+
+	/**
+	 * @return validationSchema
+	 */
+	public String getValidationSchema() {
+		return validationSchema;
+	}
+
+	/**
+	 * @param validationSchema XSD resource to validate against
+	 */
+	public void setValidationSchema(String validationSchema) {
+		this.validationSchema = validationSchema;
+	}
+
+	/**
+	 * @return headerPaths
+	 */
+	public String getHeaderPaths() {
+		return headerPaths;
+	}
+
+	/**
+	 * @param headerPaths comma separated name=Path entries read by extractHeaders
+	 */
+	public void setHeaderPaths(String headerPaths) {
+		this.headerPaths = headerPaths;
+	}
 	
-}
+}
\ No newline at end of file
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads a few values from a RosettaNet document with StAX, without JAXB, for routing decisions.
+ * <p>
+ * Values are addressed by paths of local names below the root element, namespace prefixes are
+ * ignored. Parsing stops as soon as every path has been found, or at the first top-level element none
+ * of the missing paths starts with, so for header fields at most the document header is read, even
+ * when a path does not exist. The first occurrence of a path wins. Paths must address leaf elements, a
+ * path ending at an element with child elements yields no value, and may be prefixes of one another.
+ * Instances are immutable and thread-safe.
+ */
+public class RosettaNetHeaderScanner {
+
+	/**
+	 * Default extracted values: document identifier and type, sender and receiver partner identifiers.
+	 */
+	public static final String DEFAULT_PATHS = "documentIdentifier=DocumentHeader/DocumentInformation/DocumentIdentification/Identifier,"
+			+ "documentType=DocumentHeader/DocumentInformation/DocumentIdentification/Type,"
+			+ "senderId=DocumentHeader/Sender/PartnerIdentification/AlternativeIdentifier/Identifier,"
+			+ "receiverId=DocumentHeader/Receiver/PartnerIdentification/AlternativeIdentifier/Identifier";
+
+	private static final int MATCH_NONE = 0;
+	private static final int MATCH_PREFIX = 1;
+	private static final int MATCH_LEAF = 2;
+	private static final int MATCH_BRANCH = 3;
+
+	private final List<String> names = new ArrayList<>();
+	private final List<String[]> paths = new ArrayList<>();
+
+	/**
+	 * @param spec comma separated {@code name=Path/Of/Local/Names} entries, paths start below the root element
+	 */
+	public RosettaNetHeaderScanner(String spec) {
+		for (String entry : spec.split(",")) {
+			String trimmed = entry.trim();
+			if (trimmed.isEmpty()) {
+				continue;
+			}
+			int separator = trimmed.indexOf('=');
+			if (separator <= 0 || separator == trimmed.length() - 1) {
+				throw new IllegalArgumentException("Invalid header path " + trimmed + ", expected name=Path/To/Element");
+			}
+			names.add(trimmed.substring(0, separator).trim());
+			paths.add(trimmed.substring(separator + 1).trim().split("/"));
+		}
+	}
+
+	/**
+	 * @return the names of the extracted values, in declaration order
+	 */
+	public List<String> getNames() {
+		return List.copyOf(names);
+	}
+
+	/**
+	 * Scans the document from the current position of the reader.
+	 *
+	 * @param reader reader positioned before or on the root element
+	 * @return the values found by name, in declaration order
+	 */
+	public Map<String, String> scan(XMLStreamReader reader) throws XMLStreamException {
+		String[] values = new String[paths.size()];
+		boolean[] found = new boolean[paths.size()];
+		int remaining = paths.size();
+
+		String[] stack = new String[16];
+		// text of elements ending a path while a longer path continues below them, null if not captured
+		StringBuilder[] texts = new StringBuilder[16];
+		boolean[] leaves = new boolean[16];
+		// the root element is at depth -1, its children at 0
+		int depth = reader.getEventType() == XMLStreamConstants.START_ELEMENT ? -1 : -2;
+		int skipDepth = Integer.MAX_VALUE;
+
+		while (remaining > 0 && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+				if (depth >= skipDepth || depth < 0) {
+					continue;
+				}
+				if (depth == stack.length) {
+					stack = Arrays.copyOf(stack, depth * 2);
+					texts = Arrays.copyOf(texts, depth * 2);
+					leaves = Arrays.copyOf(leaves, depth * 2);
+				}
+				stack[depth] = reader.getLocalName();
+				texts[depth] = null;
+				if (depth > 0) {
+					leaves[depth - 1] = false;
+				}
+
+				int match = match(stack, depth, found);
+				if (match == MATCH_NONE) {
+					if (depth == 0) {
+						// top-level elements come in a fixed order, the missing paths are not in this document
+						break;
+					}
+					// no pending path goes through this element, skip its content
+					skipDepth = depth;
+				} else if (match == MATCH_LEAF) {
+					remaining -= complete(stack, depth, found, values, readText(reader));
+					// readText leaves the reader on the end tag
+					depth--;
+				} else if (match == MATCH_BRANCH) {
+					// a longer pending path continues below, keep descending and capture the text meanwhile
+					texts[depth] = new StringBuilder();
+					leaves[depth] = true;
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				if (depth == skipDepth) {
+					skipDepth = Integer.MAX_VALUE;
+				} else if (depth >= 0 && depth < skipDepth && texts[depth] != null) {
+					remaining -= complete(stack, depth, found, values, leaves[depth] ? texts[depth].toString() : null);
+					texts[depth] = null;
+				}
+				depth--;
+			} else if (depth >= 0 && depth < skipDepth && texts[depth] != null && isText(event)) {
+				texts[depth].append(reader.getText());
+			}
+		}
+
+		Map<String, String> answer = new LinkedHashMap<>();
+		for (int i = 0; i < values.length; i++) {
+			if (found[i] && values[i] != null) {
+				answer.putIfAbsent(names.get(i), values[i]);
+			}
+		}
+		return answer;
+	}
+
+	/**
+	 * Marks the pending paths ending at the current element as found.
+	 *
+	 * @param value the element text, {@code null} if the element has child elements
+	 * @return the number of paths found
+	 */
+	private int complete(String[] stack, int depth, boolean[] found, String[] values, String value) {
+		int count = 0;
+		for (int i = 0; i < paths.size(); i++) {
+			if (!found[i] && isPath(paths.get(i), stack, depth)) {
+				found[i] = true;
+				values[i] = value;
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static boolean isText(int event) {
+		return event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+				|| event == XMLStreamConstants.SPACE || event == XMLStreamConstants.ENTITY_REFERENCE;
+	}
+
+	/**
+	 * Reads the text of the current element, leaving the reader on its end tag.
+	 *
+	 * @return the text, or {@code null} if the element has child elements
+	 */
+	private static String readText(XMLStreamReader reader) throws XMLStreamException {
+		StringBuilder text = new StringBuilder();
+		boolean leaf = true;
+		int level = 0;
+		while (true) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				leaf = false;
+				level++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				if (level == 0) {
+					return leaf ? text.toString() : null;
+				}
+				level--;
+			} else if (level == 0 && isText(event)) {
+				text.append(reader.getText());
+			}
+		}
+	}
+
+	/**
+	 * @return {@link #MATCH_LEAF} if pending paths end at this element and none continues below it,
+	 * {@link #MATCH_BRANCH} if pending paths end at this element and others continue below it,
+	 * {@link #MATCH_PREFIX} if the element is only on the way to pending paths, otherwise {@link #MATCH_NONE}
+	 */
+	private int match(String[] stack, int depth, boolean[] found) {
+		boolean ends = false;
+		boolean continues = false;
+		for (int i = 0; i < paths.size(); i++) {
+			if (found[i]) {
+				continue;
+			}
+			String[] path = paths.get(i);
+			if (path.length <= depth || !startsWith(path, stack, depth)) {
+				continue;
+			}
+			if (path.length == depth + 1) {
+				ends = true;
+			} else {
+				continues = true;
+			}
+		}
+		if (ends) {
+			return continues ? MATCH_BRANCH : MATCH_LEAF;
+		}
+		return continues ? MATCH_PREFIX : MATCH_NONE;
+	}
+
+	private static boolean isPath(String[] path, String[] stack, int depth) {
+		return path.length == depth + 1 && startsWith(path, stack, depth);
+	}
+
+	private static boolean startsWith(String[] path, String[] stack, int depth) {
+		for (int i = 0; i <= depth; i++) {
+			if (!path[i].equals(stack[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
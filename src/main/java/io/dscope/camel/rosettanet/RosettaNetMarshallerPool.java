@@ -0,0 +1,243 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.xml.validation.Schema;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+/**
+ * Reuses pre-configured {@link Marshaller} and {@link Unmarshaller} instances of one {@link JAXBContext}.
+ * <p>
+ * The pool type is one of:
+ * <ul>
+ * <li>{@code bounded} - a shared LIFO pool holding at most {@code maxSize} idle instances per kind,
+ * idle instances older than {@code idleTimeout} millis are evicted. Safe for virtual threads.</li>
+ * <li>{@code threadLocal} - one instance per kind and thread, best for small fixed platform thread pools.</li>
+ * <li>{@code none} - a new instance per use.</li>
+ * </ul>
+ * Acquired instances must be handed back with the matching release method once the caller is done.
+ */
+public class RosettaNetMarshallerPool {
+
+	private final JAXBContext context;
+	private final String poolType;
+	private final int maxSize;
+	private final long idleTimeout;
+	private final Map<String, Object> marshallerProperties;
+	private final Schema unmarshalSchema;
+	private final Schema marshalSchema;
+
+	private final Deque<Pooled<Marshaller>> marshallers = new ConcurrentLinkedDeque<>();
+	private final Deque<Pooled<Unmarshaller>> unmarshallers = new ConcurrentLinkedDeque<>();
+	private final AtomicInteger idleMarshallers = new AtomicInteger();
+	private final AtomicInteger idleUnmarshallers = new AtomicInteger();
+	private final ThreadLocal<Marshaller> threadMarshaller = new ThreadLocal<>();
+	private final ThreadLocal<Unmarshaller> threadUnmarshaller = new ThreadLocal<>();
+
+	private final LongAdder created = new LongAdder();
+	private final LongAdder reused = new LongAdder();
+
+	public RosettaNetMarshallerPool(JAXBContext context, String poolType, int maxSize, long idleTimeout,
+			Map<String, Object> marshallerProperties) {
+		this(context, poolType, maxSize, idleTimeout, marshallerProperties, null, null);
+	}
+
+	/**
+	 * @param unmarshalSchema schema unmarshalled documents are validated against, may be {@code null}
+	 * @param marshalSchema schema marshalled documents are validated against, may be {@code null}
+	 */
+	public RosettaNetMarshallerPool(JAXBContext context, String poolType, int maxSize, long idleTimeout,
+			Map<String, Object> marshallerProperties, Schema unmarshalSchema, Schema marshalSchema) {
+		this.context = context;
+		this.poolType = poolType != null ? poolType : RosettaNetConfiguration.POOL_BOUNDED;
+		this.maxSize = maxSize;
+		this.idleTimeout = idleTimeout;
+		this.marshallerProperties = Map.copyOf(marshallerProperties);
+		this.unmarshalSchema = unmarshalSchema;
+		this.marshalSchema = marshalSchema;
+	}
+
+	public Marshaller acquireMarshaller() throws JAXBException {
+		switch (poolType) {
+		case RosettaNetConfiguration.POOL_NONE:
+			return createMarshaller();
+		case RosettaNetConfiguration.POOL_THREAD_LOCAL:
+			Marshaller marshaller = threadMarshaller.get();
+			if (marshaller == null) {
+				marshaller = createMarshaller();
+				threadMarshaller.set(marshaller);
+			} else {
+				reused.increment();
+			}
+			return marshaller;
+		default:
+			Pooled<Marshaller> pooled = marshallers.pollFirst();
+			if (pooled == null) {
+				return createMarshaller();
+			}
+			idleMarshallers.decrementAndGet();
+			reused.increment();
+			return pooled.value;
+		}
+	}
+
+	public void releaseMarshaller(Marshaller marshaller) {
+		if (RosettaNetConfiguration.POOL_BOUNDED.equals(poolType)) {
+			release(marshallers, idleMarshallers, marshaller);
+		}
+	}
+
+	public Unmarshaller acquireUnmarshaller() throws JAXBException {
+		switch (poolType) {
+		case RosettaNetConfiguration.POOL_NONE:
+			return createUnmarshaller();
+		case RosettaNetConfiguration.POOL_THREAD_LOCAL:
+			Unmarshaller unmarshaller = threadUnmarshaller.get();
+			if (unmarshaller == null) {
+				unmarshaller = createUnmarshaller();
+				threadUnmarshaller.set(unmarshaller);
+			} else {
+				reused.increment();
+			}
+			return unmarshaller;
+		default:
+			Pooled<Unmarshaller> pooled = unmarshallers.pollFirst();
+			if (pooled == null) {
+				return createUnmarshaller();
+			}
+			idleUnmarshallers.decrementAndGet();
+			reused.increment();
+			return pooled.value;
+		}
+	}
+
+	/**
+	 * Creates an unmarshaller kept across several calls, e.g. by a lazy iterator, and not returned
+	 * to the pool. It does not validate, since fragments of a document cannot be validated on their own.
+	 */
+	public Unmarshaller createDetachedUnmarshaller() throws JAXBException {
+		Unmarshaller unmarshaller = context.createUnmarshaller();
+		created.increment();
+		return unmarshaller;
+	}
+
+	public void releaseUnmarshaller(Unmarshaller unmarshaller) {
+		if (RosettaNetConfiguration.POOL_BOUNDED.equals(poolType)) {
+			release(unmarshallers, idleUnmarshallers, unmarshaller);
+		}
+	}
+
+	/**
+	 * Drops all idle instances held by the pool.
+	 */
+	public void clear() {
+		marshallers.clear();
+		unmarshallers.clear();
+		idleMarshallers.set(0);
+		idleUnmarshallers.set(0);
+	}
+
+	/**
+	 * @return the context the pooled instances are created from
+	 */
+	public JAXBContext getContext() {
+		return context;
+	}
+
+	/**
+	 * @return number of marshallers and unmarshallers created by this pool
+	 */
+	public long getCreated() {
+		return created.sum();
+	}
+
+	/**
+	 * @return number of acquisitions served by an existing instance
+	 */
+	public long getReused() {
+		return reused.sum();
+	}
+
+	/**
+	 * @return number of idle instances currently held by a bounded pool
+	 */
+	public int getIdle() {
+		return idleMarshallers.get() + idleUnmarshallers.get();
+	}
+
+	private Marshaller createMarshaller() throws JAXBException {
+		Marshaller marshaller = context.createMarshaller();
+		for (Map.Entry<String, Object> property : marshallerProperties.entrySet()) {
+			marshaller.setProperty(property.getKey(), property.getValue());
+		}
+		if (marshalSchema != null) {
+			marshaller.setSchema(marshalSchema);
+		}
+		created.increment();
+		return marshaller;
+	}
+
+	private Unmarshaller createUnmarshaller() throws JAXBException {
+		Unmarshaller unmarshaller = context.createUnmarshaller();
+		if (unmarshalSchema != null) {
+			unmarshaller.setSchema(unmarshalSchema);
+		}
+		created.increment();
+		return unmarshaller;
+	}
+
+	private <T> void release(Deque<Pooled<T>> pool, AtomicInteger idle, T value) {
+		long now = System.currentTimeMillis();
+
+		// evict from the tail, where the least recently used instances end up
+		if (idleTimeout > 0) {
+			Pooled<T> oldest;
+			while ((oldest = pool.peekLast()) != null && now - oldest.released > idleTimeout) {
+				if (pool.removeLastOccurrence(oldest)) {
+					idle.decrementAndGet();
+				}
+			}
+		}
+
+		if (idle.incrementAndGet() <= maxSize) {
+			pool.offerFirst(new Pooled<>(value, now));
+		} else {
+			idle.decrementAndGet();
+		}
+	}
+
+	private static final class Pooled<T> {
+		final T value;
+		final long released;
+
+		Pooled(T value, long released) {
+			this.value = value;
+			this.released = released;
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.util.List;
+
+/**
+ * Receives one sample per marshal, unmarshal, split or extractHeaders operation, tagged by PIP type,
+ * version, message name and operation.
+ * <p>
+ * The component always feeds its {@link RosettaNetStatistics} (exposed via JMX), a Micrometer
+ * registry when one is bound in the Camel registry, and the optional {@code metrics} component bean.
+ * Implementations are called on the processing thread and must not block.
+ */
+public interface RosettaNetMetrics {
+
+	/**
+	 * @param operation marshal, unmarshal, split or extractHeaders
+	 * @param pipType the PIP type, or {@code null} if the message was not resolved
+	 * @param version the version, or {@code null} if the message was not resolved
+	 * @param messageName the message name, or {@code null} if the message was not resolved
+	 * @param durationNanos elapsed time of the operation
+	 * @param documentSize size of the XML document in bytes or characters, negative if unknown
+	 */
+	void recordSuccess(String operation, String pipType, String version, String messageName, long durationNanos,
+			long documentSize);
+
+	/**
+	 * @param operation marshal, unmarshal, split or extractHeaders
+	 * @param pipType the PIP type, or {@code null} if the message was not resolved
+	 * @param version the version, or {@code null} if the message was not resolved
+	 * @param messageName the message name, or {@code null} if the message was not resolved
+	 * @param durationNanos elapsed time until the failure
+	 * @param cause the failure
+	 */
+	void recordFailure(String operation, String pipType, String version, String messageName, long durationNanos,
+			Throwable cause);
+
+	/**
+	 * @param metrics the receivers
+	 * @return a receiver forwarding every sample to all given receivers
+	 */
+	static RosettaNetMetrics of(List<RosettaNetMetrics> metrics) {
+		if (metrics.size() == 1) {
+			return metrics.get(0);
+		}
+		RosettaNetMetrics[] targets = metrics.toArray(new RosettaNetMetrics[0]);
+		return new RosettaNetMetrics() {
+			@Override
+			public void recordSuccess(String operation, String pipType, String version, String messageName,
+					long durationNanos, long documentSize) {
+				for (RosettaNetMetrics target : targets) {
+					target.recordSuccess(operation, pipType, version, messageName, durationNanos, documentSize);
+				}
+			}
+
+			@Override
+			public void recordFailure(String operation, String pipType, String version, String messageName,
+					long durationNanos, Throwable cause) {
+				for (RosettaNetMetrics target : targets) {
+					target.recordFailure(operation, pipType, version, messageName, durationNanos, cause);
+				}
+			}
+		};
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes operation samples to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * Meters: {@code rosettanet.operation} timer with 50/95/99th percentiles, {@code rosettanet.document.size}
+ * distribution summary in bytes (UTF-8 encoded length for text bodies) and {@code rosettanet.failures} counter tagged by cause, all tagged by
+ * operation, pipType, version and messageName, plus the JAXB context cache counters of the component.
+ * <p>
+ * Micrometer is an optional dependency; this class is only loaded when a {@code MeterRegistry} is on
+ * the classpath, see {@code RosettaNetComponent}.
+ */
+public class RosettaNetMicrometerMetrics implements RosettaNetMetrics {
+
+	private static final String UNKNOWN = "unknown";
+
+	private final MeterRegistry registry;
+	private final ConcurrentMap<String, Meters> meters = new ConcurrentHashMap<>();
+
+	public RosettaNetMicrometerMetrics(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Creates the metrics for the single {@code MeterRegistry} bound in the Camel registry, if any.
+	 *
+	 * @param camelContext the camel context
+	 * @param contextRegistry context registry whose cache statistics are published as well
+	 * @return the metrics, or {@code null} if no registry is bound
+	 */
+	static RosettaNetMetrics create(CamelContext camelContext, RosettaNetContextRegistry contextRegistry) {
+		MeterRegistry registry = camelContext.getRegistry().findSingleByType(MeterRegistry.class);
+		if (registry == null) {
+			return null;
+		}
+		RosettaNetMicrometerMetrics metrics = new RosettaNetMicrometerMetrics(registry);
+		metrics.bindTo(contextRegistry);
+		return metrics;
+	}
+
+	/**
+	 * Publishes the hit, miss and size counters of a context registry.
+	 *
+	 * @param contextRegistry the context registry
+	 */
+	public void bindTo(RosettaNetContextRegistry contextRegistry) {
+		FunctionCounter.builder("rosettanet.context.cache.hits", contextRegistry, RosettaNetContextRegistry::getHits)
+				.description("JAXB context lookups served from the cache").register(registry);
+		FunctionCounter.builder("rosettanet.context.cache.misses", contextRegistry, RosettaNetContextRegistry::getMisses)
+				.description("JAXB context lookups that built a new context").register(registry);
+		Gauge.builder("rosettanet.context.cache.size", contextRegistry, RosettaNetContextRegistry::getSize)
+				.description("JAXB contexts held").register(registry);
+		Gauge.builder("rosettanet.context.build.time.max", contextRegistry, RosettaNetContextRegistry::getMaxBuildTime)
+				.description("Longest JAXB context build").baseUnit("milliseconds").register(registry);
+	}
+
+	@Override
+	public void recordSuccess(String operation, String pipType, String version, String messageName, long durationNanos,
+			long documentSize) {
+		Meters m = getMeters(operation, pipType, version, messageName);
+		m.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+		if (documentSize >= 0) {
+			m.size.record(documentSize);
+		}
+	}
+
+	@Override
+	public void recordFailure(String operation, String pipType, String version, String messageName, long durationNanos,
+			Throwable cause) {
+		Meters m = getMeters(operation, pipType, version, messageName);
+		m.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+		m.getFailures(registry, cause.getClass().getSimpleName()).increment();
+	}
+
+	private Meters getMeters(String operation, String pipType, String version, String messageName) {
+		String key = operation + " " + pipType + ":" + version + ":" + messageName;
+		Meters m = meters.get(key);
+		return m != null ? m : meters.computeIfAbsent(key, k -> new Meters(registry, Tags.of(
+				"operation", operation,
+				"pipType", pipType != null ? pipType : UNKNOWN,
+				"version", version != null ? version : UNKNOWN,
+				"messageName", messageName != null ? messageName : UNKNOWN)));
+	}
+
+	private static final class Meters {
+		final Tags tags;
+		final Timer timer;
+		final DistributionSummary size;
+		final ConcurrentMap<String, Counter> failures = new ConcurrentHashMap<>();
+
+		Meters(MeterRegistry registry, Tags tags) {
+			this.tags = tags;
+			this.timer = Timer.builder("rosettanet.operation")
+					.description("Duration of RosettaNet operations")
+					.tags(tags)
+					.publishPercentiles(0.5, 0.95, 0.99)
+					.register(registry);
+			this.size = DistributionSummary.builder("rosettanet.document.size")
+					.description("Size of RosettaNet documents, text bodies counted by their UTF-8 encoded length")
+					.baseUnit("bytes")
+					.tags(tags)
+					.publishPercentiles(0.5, 0.95, 0.99)
+					.register(registry);
+		}
+
+		Counter getFailures(MeterRegistry registry, String cause) {
+			Counter counter = failures.get(cause);
+			return counter != null ? counter : failures.computeIfAbsent(cause, c -> Counter.builder("rosettanet.failures")
+					.description("Failed RosettaNet operations")
+					.tags(tags)
+					.tag("cause", c)
+					.register(registry));
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.glassfish.jaxb.runtime.marshaller.NamespacePrefixMapper;
+
+/**
+ * Namespace prefix mapper assigning fixed prefixes to namespace URIs and declaring all of them
+ * once on the root element, so nested elements do not repeat namespace declarations.
+ * <p>
+ * Register an instance as a bean and reference it with the {@code namespacePrefixMapper} endpoint option.
+ */
+public class RosettaNetNamespacePrefixMapper extends NamespacePrefixMapper {
+
+	private final Map<String, String> prefixes;
+
+	/**
+	 * @param prefixes namespace URI to prefix mapping, declared on the root element in iteration order
+	 */
+	public RosettaNetNamespacePrefixMapper(Map<String, String> prefixes) {
+		this.prefixes = new LinkedHashMap<>(prefixes);
+	}
+
+	@Override
+	public String getPreferredPrefix(String namespaceUri, String suggestion, boolean requirePrefix) {
+		String prefix = prefixes.get(namespaceUri);
+		return prefix != null ? prefix : suggestion;
+	}
+
+	@Override
+	public String[] getPreDeclaredNamespaceUris() {
+		return prefixes.keySet().toArray(new String[0]);
+	}
+
+}
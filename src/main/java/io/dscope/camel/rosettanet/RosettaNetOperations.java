@@ -0,0 +1,717 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.validation.Schema;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+import org.glassfish.jaxb.runtime.marshaller.NamespacePrefixMapper;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.support.service.ServiceSupport;
+
+import io.dscope.rosettanet.dictionary.RosettaNetDictionary.MessageDefinition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The marshal, unmarshal, split and extractHeaders operations of the {@code rosettanet} component,
+ * shared by {@link RosettaNetProducer} (single messages and batches), {@link RosettaNetConsumer} and
+ * {@link RosettaNetDataFormat}.
+ * <p>
+ * An instance holds the marshaller pools, the binding plan fixed by the options and the output size
+ * hint of its owner, which copies its options in before starting it and stops it with its own lifecycle.
+ */
+public class RosettaNetOperations extends ServiceSupport {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RosettaNetOperations.class);
+
+	private final RosettaNetComponent component;
+	private final CamelContext camelContext;
+
+	private String pipType;
+	private String version;
+	private String messageName;
+	private boolean autoDetect;
+	private String outputType = RosettaNetConfiguration.OUTPUT_STRING;
+	private boolean prettyPrint;
+	private String encoding = "UTF-8";
+	private boolean fragment;
+	private String schemaLocation;
+	private String noNamespaceSchemaLocation;
+	private NamespacePrefixMapper namespacePrefixMapper;
+	private String splitElement = "ProductLineItem";
+	private String splitType;
+	private String headerPaths;
+	private long mappedFileThreshold = 10485760;
+	private String validate = RosettaNetConfiguration.VALIDATE_NONE;
+	private String validationSchema;
+	private String poolType = RosettaNetConfiguration.POOL_BOUNDED;
+	private int poolMaxSize = 32;
+	private long poolIdleTimeout = 300000;
+
+	private final ConcurrentMap<JAXBContext, RosettaNetMarshallerPool> pools = new ConcurrentHashMap<>();
+
+	private volatile RosettaNetBindingPlan bindingPlan;
+
+	private final AtomicInteger outputSizeHint = new AtomicInteger();
+
+	private volatile RosettaNetHeaderScanner headerScanner;
+
+	/**
+	 * @param component the component providing the context registry, dictionary index, payload logger and metrics
+	 */
+	public RosettaNetOperations(RosettaNetComponent component) {
+		this.component = component;
+		this.camelContext = component.getCamelContext();
+	}
+
+	/**
+	 * Returns the pool of pre-configured marshallers and unmarshallers for the context of the plan,
+	 * with validating instances when the validate option asks for it. Every operation goes through this
+	 * method, so the validation settings of a pool do not depend on which operation
+	 * created it.
+	 *
+	 * @param plan the binding plan
+	 * @return the pool of the plan context
+	 */
+	public RosettaNetMarshallerPool getMarshallerPool(RosettaNetBindingPlan plan) throws Exception {
+		RosettaNetMarshallerPool pool = pools.get(plan.getContext());
+		if (pool != null) {
+			return pool;
+		}
+
+		boolean inbound = isValidating(RosettaNetConfiguration.VALIDATE_INBOUND);
+		boolean outbound = isValidating(RosettaNetConfiguration.VALIDATE_OUTBOUND);
+		Schema schema = null;
+		if (inbound || outbound) {
+			schema = validationSchema != null
+					? component.getContextRegistry().getSchema(camelContext, validationSchema)
+					: component.getContextRegistry().getSchema(plan);
+		}
+
+		Schema unmarshalSchema = inbound ? schema : null;
+		Schema marshalSchema = outbound ? schema : null;
+		return pools.computeIfAbsent(plan.getContext(), c -> new RosettaNetMarshallerPool(c, poolType, poolMaxSize,
+				poolIdleTimeout, createMarshallerProperties(), unmarshalSchema, marshalSchema));
+	}
+
+	/**
+	 * @return number of marshaller pools, one per JAXB context
+	 */
+	public int getPoolCount() {
+		return pools.size();
+	}
+
+	/**
+	 * @return number of marshallers and unmarshallers created by the pools
+	 */
+	public long getPoolCreated() {
+		return pools.values().stream().mapToLong(RosettaNetMarshallerPool::getCreated).sum();
+	}
+
+	/**
+	 * @return number of acquisitions served by a pooled marshaller or unmarshaller
+	 */
+	public long getPoolReused() {
+		return pools.values().stream().mapToLong(RosettaNetMarshallerPool::getReused).sum();
+	}
+
+	/**
+	 * @return number of idle marshallers and unmarshallers held by bounded pools
+	 */
+	public int getPoolIdle() {
+		return pools.values().stream().mapToInt(RosettaNetMarshallerPool::getIdle).sum();
+	}
+
+	/**
+	 * @param direction inbound or outbound
+	 * @return whether documents of that direction are validated
+	 */
+	boolean isValidating(String direction) {
+		return validate != null && (validate.equals(direction) || validate.equals(RosettaNetConfiguration.VALIDATE_BOTH));
+	}
+
+	protected Map<String, Object> createMarshallerProperties() {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(Marshaller.JAXB_FORMATTED_OUTPUT, prettyPrint);
+		properties.put(Marshaller.JAXB_FRAGMENT, fragment);
+		if (encoding != null)
+			properties.put(Marshaller.JAXB_ENCODING, encoding);
+		if (schemaLocation != null)
+			properties.put(Marshaller.JAXB_SCHEMA_LOCATION, schemaLocation);
+		if (noNamespaceSchemaLocation != null)
+			properties.put(Marshaller.JAXB_NO_NAMESPACE_SCHEMA_LOCATION, noNamespaceSchemaLocation);
+		if (namespacePrefixMapper != null)
+			properties.put(RosettaNetConfiguration.NAMESPACE_PREFIX_MAPPER_PROPERTY, namespacePrefixMapper);
+		return properties;
+	}
+
+	/**
+	 * Returns the binding plan resolved at startup when PIP type, version and message name
+	 * are all fixed by the options.
+	 *
+	 * @return the fixed binding plan, or {@code null} if the message is resolved per exchange
+	 */
+	public RosettaNetBindingPlan getBindingPlan() {
+		return bindingPlan;
+	}
+
+	/**
+	 * @return length of the last marshalled document in the unit of the output type, characters for
+	 * {@code string} output and bytes otherwise, used to presize output buffers
+	 */
+	public int getOutputSizeHint() {
+		return outputSizeHint.get();
+	}
+
+	/**
+	 * @param size length of the last marshalled document, characters for {@code string} output and bytes otherwise
+	 */
+	public void updateOutputSizeHint(int size) {
+		outputSizeHint.set(size);
+	}
+
+	/**
+	 * Marshals the JAXB document of the message body, or a {@link RosettaNetStreamingDocument}
+	 * assembled from parts, to XML in the configured output type. Shared by single message and
+	 * batch processing.
+	 *
+	 * @param exchange the exchange holding the JAXB document
+	 */
+	void marshal(Exchange exchange) throws Exception {
+		instrument(RosettaNetConfiguration.MARSHAL_PREFIX, exchange, this::doMarshal);
+	}
+
+	private void doMarshal(Exchange exchange, Sample sample) throws Exception {
+		RosettaNetBindingPlan plan = resolvePlan(exchange, "marshalling");
+		MessageDefinition msgDef = sample.messageDefinition = plan.getMessageDefinition();
+		LOG.debug("Marshalling RosettaNet message: {} - {}", msgDef.getType(), msgDef.getName());
+
+		Object document = exchange.getIn().getBody();
+
+		if (document == null) {
+			throw new IllegalArgumentException("Message body is null, cannot marshal");
+		}
+
+		LOG.debug("Marshalling document of type: {}", document.getClass().getName());
+
+		RosettaNetMarshallerPool pool = getMarshallerPool(plan);
+		Marshaller marshaller = pool.acquireMarshaller();
+
+		Object xmlOutput;
+		try {
+			if (document instanceof RosettaNetStreamingDocument streamingDocument) {
+				xmlOutput = RosettaNetXmlHelper.marshal(marshaller, exchange, streamingDocument, plan, outputType, encoding,
+						fragment, getOutputSizeHint());
+			} else {
+				// Wrap in JAXBElement if no XmlRootElement annotation
+				xmlOutput = RosettaNetXmlHelper.marshal(marshaller, exchange, plan.wrapRoot(document), outputType,
+						getOutputSizeHint());
+			}
+		} catch (JAXBException e) {
+			if (isValidating(RosettaNetConfiguration.VALIDATE_OUTBOUND)) {
+				throw RosettaNetValidationException.translate(exchange, RosettaNetConfiguration.VALIDATE_OUTBOUND, msgDef.getName(), e);
+			}
+			throw e;
+		} finally {
+			pool.releaseMarshaller(marshaller);
+		}
+
+		if (xmlOutput instanceof byte[] bytes) {
+			updateOutputSizeHint(bytes.length);
+		} else if (xmlOutput instanceof String text) {
+			// a StringWriter is presized in characters
+			updateOutputSizeHint(text.length());
+		}
+		sample.measure(xmlOutput);
+
+		component.getPayloadLogger().log(exchange, "Marshalled XML message", xmlOutput);
+		exchange.getMessage().setBody(xmlOutput);
+	}
+
+	/**
+	 * Marshals a JAXB document straight to an output stream, for the data format. Without PIP type
+	 * the message is looked up from the document class.
+	 *
+	 * @param exchange the current exchange
+	 * @param document the JAXB document
+	 * @param stream the stream the XML is written to
+	 */
+	void marshal(Exchange exchange, Object document, OutputStream stream) throws Exception {
+		instrument(RosettaNetConfiguration.MARSHAL_PREFIX, exchange, (current, sample) -> {
+			RosettaNetBindingPlan plan = resolvePlan(current, "marshalling", document);
+			MessageDefinition msgDef = sample.messageDefinition = plan.getMessageDefinition();
+			LOG.debug("Marshalling RosettaNet message: {} - {}", msgDef.getType(), msgDef.getName());
+
+			RosettaNetMarshallerPool pool = getMarshallerPool(plan);
+			Marshaller marshaller = pool.acquireMarshaller();
+			try {
+				marshaller.marshal(plan.wrapRoot(document), stream);
+			} catch (JAXBException e) {
+				if (isValidating(RosettaNetConfiguration.VALIDATE_OUTBOUND)) {
+					throw RosettaNetValidationException.translate(current, RosettaNetConfiguration.VALIDATE_OUTBOUND, msgDef.getName(), e);
+				}
+				throw e;
+			} finally {
+				pool.releaseMarshaller(marshaller);
+			}
+		});
+	}
+
+	/**
+	 * Unmarshals the message body into its JAXB document and sets the PIP type, version and message
+	 * name headers. Shared by the producer, batches and the polling consumer.
+	 *
+	 * @param exchange the exchange holding the XML body
+	 */
+	void unmarshal(Exchange exchange) throws Exception {
+		instrument(RosettaNetConfiguration.UNMARSHAL_PREFIX, exchange, this::doUnmarshal);
+	}
+
+	private void doUnmarshal(Exchange exchange, Sample sample) throws Exception {
+		RosettaNetBindingPlan plan = autoDetect ? detectPlan(exchange) : resolvePlan(exchange, "unmarshalling");
+		MessageDefinition msgDef = sample.messageDefinition = plan.getMessageDefinition();
+		LOG.debug("Unmarshalling RosettaNet message: {} - {}", msgDef.getType(), msgDef.getName());
+
+		Object body = exchange.getIn().getBody();
+		sample.measure(body);
+		component.getPayloadLogger().log(exchange, "Unmarshalling XML message", body);
+
+		RosettaNetMarshallerPool pool = getMarshallerPool(plan);
+		Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+
+		Object document;
+		try (InputStream file = RosettaNetXmlHelper.openFile(body, mappedFileThreshold)) {
+			// stream bytes straight into the parser instead of decoding the body to a String first
+			document = RosettaNetXmlHelper.unmarshal(unmarshaller, exchange, file != null ? file : body);
+		} catch (JAXBException e) {
+			if (isValidating(RosettaNetConfiguration.VALIDATE_INBOUND)) {
+				throw RosettaNetValidationException.translate(exchange, RosettaNetConfiguration.VALIDATE_INBOUND, msgDef.getName(), e);
+			}
+			throw e;
+		} finally {
+			pool.releaseUnmarshaller(unmarshaller);
+		}
+
+		exchange.getMessage().setBody(document);
+		exchange.getMessage().setHeader(RosettaNetProducer.PIP_TYPE_HEADER, msgDef.getType());
+		exchange.getMessage().setHeader(RosettaNetProducer.VERSION_HEADER, msgDef.getVersion());
+		exchange.getMessage().setHeader(RosettaNetProducer.MESSAGE_NAME_HEADER, msgDef.getName());
+	}
+
+	/**
+	 * Replaces the message body with a lazy iterator unmarshalling the repeating split elements one by
+	 * one. The document header, when it precedes them, is unmarshalled once into the documentHeader
+	 * header. The recorded duration covers opening the document and reading the header only.
+	 *
+	 * @param exchange the exchange holding the XML body
+	 */
+	void split(Exchange exchange) throws Exception {
+		instrument(RosettaNetConfiguration.SPLIT_PREFIX, exchange, this::doSplit);
+	}
+
+	private void doSplit(Exchange exchange, Sample sample) throws Exception {
+		RosettaNetBindingPlan plan = autoDetect ? detectPlan(exchange) : resolvePlan(exchange, "splitting");
+		MessageDefinition msgDef = sample.messageDefinition = plan.getMessageDefinition();
+		LOG.debug("Splitting RosettaNet message: {} - {} on {}", msgDef.getType(), msgDef.getName(), splitElement);
+
+		Class<?> itemType = splitType != null
+				? camelContext.getClassResolver().resolveMandatoryClass(splitType)
+				: plan.getElementType(splitElement);
+		if (itemType == null) {
+			throw new IllegalArgumentException("No element " + splitElement + " found in message " + msgDef.getName());
+		}
+
+		Object body = exchange.getIn().getBody();
+		sample.measure(body);
+		component.getPayloadLogger().log(exchange, "Splitting XML message", body);
+
+		Closeable source;
+		XMLStreamReader reader;
+		if (body instanceof XMLStreamReader streamReader) {
+			source = null;
+			reader = streamReader;
+		} else if (body instanceof String text) {
+			source = null;
+			reader = RosettaNetXmlHelper.createXMLStreamReader(new StringReader(text));
+		} else if (body instanceof Reader bodyReader) {
+			source = bodyReader;
+			reader = RosettaNetXmlHelper.createXMLStreamReader(bodyReader);
+		} else {
+			InputStream stream = RosettaNetXmlHelper.openFile(body, mappedFileThreshold);
+			if (stream == null) {
+				stream = RosettaNetXmlHelper.toInputStream(exchange, body);
+			}
+			source = stream;
+			reader = RosettaNetXmlHelper.createXMLStreamReader(stream);
+		}
+
+		// the same pool as unmarshal, a detached unmarshaller never validates
+		RosettaNetMarshallerPool pool = getMarshallerPool(plan);
+		RosettaNetSplitIterator iterator = new RosettaNetSplitIterator(reader, source, pool.createDetachedUnmarshaller(),
+				splitElement, itemType);
+
+		Class<?> headerType = plan.getElementType(RosettaNetConfiguration.DOCUMENT_HEADER_ELEMENT);
+		Object documentHeader = headerType != null
+				? iterator.readHeader(RosettaNetConfiguration.DOCUMENT_HEADER_ELEMENT, headerType)
+				: null;
+
+		exchange.getMessage().setBody(iterator);
+		exchange.getMessage().setHeader(RosettaNetProducer.DOCUMENT_HEADER_HEADER, documentHeader);
+		exchange.getMessage().setHeader(RosettaNetProducer.PIP_TYPE_HEADER, msgDef.getType());
+		exchange.getMessage().setHeader(RosettaNetProducer.VERSION_HEADER, msgDef.getVersion());
+		exchange.getMessage().setHeader(RosettaNetProducer.MESSAGE_NAME_HEADER, msgDef.getName());
+	}
+
+	/**
+	 * Sets the values addressed by the header paths as message headers, reading the document with
+	 * StAX only as far as needed. With autoDetect the PIP type, version and message name headers are
+	 * set from the root element as well. The body is left readable.
+	 *
+	 * @param exchange the exchange holding the XML body
+	 */
+	void extractHeaders(Exchange exchange) throws Exception {
+		instrument(RosettaNetConfiguration.EXTRACT_HEADERS_PREFIX, exchange, this::doExtractHeaders);
+	}
+
+	private void doExtractHeaders(Exchange exchange, Sample sample) throws Exception {
+		sample.measure(exchange.getIn().getBody());
+		if (autoDetect) {
+			MessageDefinition msgDef = sample.messageDefinition = detectPlan(exchange).getMessageDefinition();
+			exchange.getMessage().setHeader(RosettaNetProducer.PIP_TYPE_HEADER, msgDef.getType());
+			exchange.getMessage().setHeader(RosettaNetProducer.VERSION_HEADER, msgDef.getVersion());
+			exchange.getMessage().setHeader(RosettaNetProducer.MESSAGE_NAME_HEADER, msgDef.getName());
+		}
+
+		Map<String, String> values = RosettaNetXmlHelper.peek(exchange, getHeaderScanner()::scan);
+		LOG.debug("Extracted headers {}", values);
+		values.forEach(exchange.getMessage()::setHeader);
+	}
+
+	/**
+	 * Runs an operation and reports its duration, document size and outcome to the component metrics.
+	 */
+	private void instrument(String operation, Exchange exchange, Operation body) throws Exception {
+		RosettaNetMetrics metrics = component.getEffectiveMetrics();
+		Sample sample = new Sample(metrics != null);
+		if (metrics == null) {
+			body.run(exchange, sample);
+			return;
+		}
+
+		long start = System.nanoTime();
+		try {
+			body.run(exchange, sample);
+		} catch (Throwable e) {
+			// errors are recorded too, they fail the exchange like any exception
+			MessageDefinition msgDef = sample.messageDefinition;
+			metrics.recordFailure(operation, msgDef != null ? msgDef.getType() : pipType,
+					msgDef != null ? msgDef.getVersion() : version, msgDef != null ? msgDef.getName() : messageName,
+					System.nanoTime() - start, e);
+			throw e;
+		}
+		MessageDefinition msgDef = sample.messageDefinition;
+		metrics.recordSuccess(operation, msgDef != null ? msgDef.getType() : pipType,
+				msgDef != null ? msgDef.getVersion() : version, msgDef != null ? msgDef.getName() : messageName,
+				System.nanoTime() - start, sample.size);
+	}
+
+	@FunctionalInterface
+	private interface Operation {
+		void run(Exchange exchange, Sample sample) throws Exception;
+	}
+
+	/**
+	 * Message and document size of the running operation, filled in as they become known.
+	 */
+	private static final class Sample {
+		final boolean measured;
+		MessageDefinition messageDefinition;
+		long size = -1;
+
+		Sample(boolean measured) {
+			this.measured = measured;
+		}
+
+		/**
+		 * Records the document size, only when metrics are on: sizing a String is a pass over the whole
+		 * document and sizing a file a filesystem call.
+		 */
+		void measure(Object document) {
+			if (measured) {
+				size = RosettaNetXmlHelper.sizeOf(document);
+			}
+		}
+	}
+
+	/**
+	 * @return the scanner of the header paths, created on first use
+	 */
+	public RosettaNetHeaderScanner getHeaderScanner() {
+		RosettaNetHeaderScanner scanner = headerScanner;
+		if (scanner == null) {
+			scanner = headerScanner = new RosettaNetHeaderScanner(
+					headerPaths != null ? headerPaths : RosettaNetHeaderScanner.DEFAULT_PATHS);
+		}
+		return scanner;
+	}
+
+	/**
+	 * Resolves the binding plan from the root element of the message body. Only the start tag of the
+	 * root element is parsed; the pipType option breaks ties between messages sharing a root element.
+	 */
+	RosettaNetBindingPlan detectPlan(Exchange exchange) throws Exception {
+		QName rootElement = RosettaNetXmlHelper.peekRootElement(exchange);
+
+		RosettaNetDictionaryIndex.Entry entry = component.getDictionaryIndex().findByRootElement(rootElement, pipType);
+		if (entry == null) {
+			throw new IllegalArgumentException("No message definition found for root element: " + rootElement);
+		}
+
+		LOG.debug("Detected RosettaNet message {} from root element {}", entry, rootElement);
+		return component.getContextRegistry().getPlan(entry.getPipType(), entry.getVersion(), entry.getName());
+	}
+
+	/**
+	 * Returns the binding plan resolved at startup when the message is fixed by the options, otherwise
+	 * resolves the plan from the options and headers through the component plan cache.
+	 */
+	RosettaNetBindingPlan resolvePlan(Exchange exchange, String operation) throws Exception {
+		return resolvePlan(exchange, operation, null);
+	}
+
+	/**
+	 * Resolves the binding plan like {@link #resolvePlan(Exchange, String)}, falling back to the class
+	 * of the document when no PIP type is set.
+	 *
+	 * @param document the document being marshalled, or {@code null}
+	 */
+	RosettaNetBindingPlan resolvePlan(Exchange exchange, String operation, Object document) throws Exception {
+		RosettaNetBindingPlan plan = bindingPlan;
+		if (plan != null) {
+			return plan;
+		}
+
+		String pipType = this.pipType;
+		String version = this.version;
+		String messageName = this.messageName;
+
+		if (pipType == null)
+			pipType = (String) exchange.getMessage().getHeader(RosettaNetProducer.PIP_TYPE_HEADER);
+
+		if (version == null)
+			version = (String) exchange.getMessage().getHeader(RosettaNetProducer.VERSION_HEADER);
+
+		if (messageName == null)
+			messageName = (String) exchange.getMessage().getHeader(RosettaNetProducer.MESSAGE_NAME_HEADER);
+
+		if (pipType == null && document != null) {
+			RosettaNetDictionaryIndex.Entry entry = component.getDictionaryIndex().findByClass(document.getClass());
+			if (entry != null) {
+				return component.getContextRegistry().getPlan(entry.getPipType(), entry.getVersion(), entry.getName());
+			}
+		}
+
+		if (pipType == null) {
+			throw new IllegalArgumentException("PIP type is required for " + operation);
+		}
+
+		return component.getContextRegistry().getPlan(pipType, version, messageName);
+	}
+
+	@Override
+	protected void doStart() throws Exception {
+		if (pipType != null && version != null && messageName != null) {
+			bindingPlan = component.getContextRegistry().getPlan(pipType, version, messageName);
+			LOG.debug("Resolved {}", bindingPlan);
+
+			if (!RosettaNetConfiguration.VALIDATE_NONE.equals(validate)) {
+				// compile the schema now rather than on the first message
+				getMarshallerPool(bindingPlan);
+			}
+		}
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		bindingPlan = null;
+		pools.values().forEach(RosettaNetMarshallerPool::clear);
+		pools.clear();
+	}
+
+	/**
+	 * @param pipType the PIP type (e.g., PIP3A4)
+	 */
+	public void setPipType(String pipType) {
+		this.pipType = pipType;
+	}
+
+	/**
+	 * @param version the message version (e.g., 02_05)
+	 */
+	public void setVersion(String version) {
+		this.version = version;
+	}
+
+	/**
+	 * @param messageName the message name (e.g., PurchaseOrderRequest)
+	 */
+	public void setMessageName(String messageName) {
+		this.messageName = messageName;
+	}
+
+	/**
+	 * @param autoDetect whether unmarshal, split and extractHeaders detect the message from the root element
+	 */
+	public void setAutoDetect(boolean autoDetect) {
+		this.autoDetect = autoDetect;
+	}
+
+	/**
+	 * @param outputType string, bytes or stream
+	 */
+	public void setOutputType(String outputType) {
+		this.outputType = outputType;
+	}
+
+	/**
+	 * @param prettyPrint whether marshal indents the XML output
+	 */
+	public void setPrettyPrint(boolean prettyPrint) {
+		this.prettyPrint = prettyPrint;
+	}
+
+	/**
+	 * @param encoding the encoding used by marshal
+	 */
+	public void setEncoding(String encoding) {
+		this.encoding = encoding;
+	}
+
+	/**
+	 * @param fragment whether marshal omits the XML declaration
+	 */
+	public void setFragment(boolean fragment) {
+		this.fragment = fragment;
+	}
+
+	/**
+	 * @param schemaLocation the xsi:schemaLocation attribute written by marshal
+	 */
+	public void setSchemaLocation(String schemaLocation) {
+		this.schemaLocation = schemaLocation;
+	}
+
+	/**
+	 * @param noNamespaceSchemaLocation the xsi:noNamespaceSchemaLocation attribute written by marshal
+	 */
+	public void setNoNamespaceSchemaLocation(String noNamespaceSchemaLocation) {
+		this.noNamespaceSchemaLocation = noNamespaceSchemaLocation;
+	}
+
+	/**
+	 * @param namespacePrefixMapper the namespace prefix mapper used by marshal
+	 */
+	public void setNamespacePrefixMapper(NamespacePrefixMapper namespacePrefixMapper) {
+		this.namespacePrefixMapper = namespacePrefixMapper;
+	}
+
+	/**
+	 * @param splitElement local name of the repeating element emitted by split
+	 */
+	public void setSplitElement(String splitElement) {
+		this.splitElement = splitElement;
+	}
+
+	/**
+	 * @param splitType class the split element is bound to
+	 */
+	public void setSplitType(String splitType) {
+		this.splitType = splitType;
+	}
+
+	/**
+	 * @param headerPaths comma separated name=Path entries read by extractHeaders
+	 */
+	public void setHeaderPaths(String headerPaths) {
+		this.headerPaths = headerPaths;
+		this.headerScanner = null;
+	}
+
+	/**
+	 * @param mappedFileThreshold size in bytes from which file bodies are memory-mapped
+	 */
+	public void setMappedFileThreshold(long mappedFileThreshold) {
+		this.mappedFileThreshold = mappedFileThreshold;
+	}
+
+	/**
+	 * @param validate none, inbound, outbound or both
+	 */
+	public void setValidate(String validate) {
+		this.validate = validate;
+	}
+
+	/**
+	 * @param validationSchema XSD resource to validate against
+	 */
+	public void setValidationSchema(String validationSchema) {
+		this.validationSchema = validationSchema;
+	}
+
+	/**
+	 * @param poolType bounded, threadLocal or none
+	 */
+	public void setPoolType(String poolType) {
+		this.poolType = poolType;
+	}
+
+	/**
+	 * @param poolMaxSize maximum idle instances kept per JAXB context
+	 */
+	public void setPoolMaxSize(int poolMaxSize) {
+		this.poolMaxSize = poolMaxSize;
+	}
+
+	/**
+	 * @param poolIdleTimeout time in millis after which idle pooled instances are evicted
+	 */
+	public void setPoolIdleTimeout(long poolIdleTimeout) {
+		this.poolIdleTimeout = poolIdleTimeout;
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.StreamCache;
+import org.apache.camel.spi.CamelLogger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes bounded excerpts of RosettaNet payloads to the log.
+ * <p>
+ * Nothing is rendered unless the configured level is enabled and the message is picked by the
+ * sampler, so leaving payload logging on under load only costs a level check and a counter increment.
+ * Excerpts are truncated to {@code maxChars} and passed through an optional {@link RosettaNetPayloadRedactor}.
+ * Stream caches are read up to the limit and reset; other streams are never consumed.
+ */
+public class RosettaNetPayloadLogger {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RosettaNetPayloadLogger.class);
+
+	private final CamelLogger logger;
+	private final int maxChars;
+	private final int sampleRate;
+	private final RosettaNetPayloadRedactor redactor;
+	private final AtomicLong counter = new AtomicLong();
+
+	/**
+	 * @param level log level of payload excerpts, {@code OFF} disables payload logging
+	 * @param maxChars maximum number of characters logged per payload, zero or negative logs everything
+	 * @param sampleRate log one in every {@code sampleRate} payloads
+	 * @param redactor optional redaction hook
+	 */
+	public RosettaNetPayloadLogger(LoggingLevel level, int maxChars, int sampleRate, RosettaNetPayloadRedactor redactor) {
+		this.logger = new CamelLogger(LOG, level != null ? level : LoggingLevel.OFF);
+		this.maxChars = maxChars;
+		this.sampleRate = Math.max(1, sampleRate);
+		this.redactor = redactor;
+	}
+
+	/**
+	 * @return whether a payload logged now could reach the log
+	 */
+	public boolean isEnabled() {
+		return logger.shouldLog();
+	}
+
+	/**
+	 * Logs an excerpt of the payload if enabled and sampled.
+	 *
+	 * @param exchange the current exchange
+	 * @param message description prefix, e.g. "Unmarshalling XML message"
+	 * @param payload the payload
+	 */
+	public void log(Exchange exchange, String message, Object payload) {
+		if (!logger.shouldLog()) {
+			return;
+		}
+		if (sampleRate > 1 && counter.getAndIncrement() % sampleRate != 0) {
+			return;
+		}
+
+		String excerpt;
+		try {
+			excerpt = render(payload);
+		} catch (Exception e) {
+			excerpt = "[unreadable " + payload.getClass().getName() + ": " + e.getMessage() + "]";
+		}
+		if (redactor != null) {
+			excerpt = redactor.redact(exchange, excerpt);
+		}
+
+		write(message + " [" + exchange.getExchangeId() + "]: " + excerpt);
+	}
+
+	/**
+	 * Writes a rendered, truncated and redacted payload line to the log at the configured level.
+	 *
+	 * @param line the line to log
+	 */
+	protected void write(String line) {
+		logger.log(line);
+	}
+
+	private String render(Object payload) throws Exception {
+		if (payload == null) {
+			return "null";
+		}
+		if (payload instanceof String text) {
+			return truncate(text, text.length());
+		}
+		if (payload instanceof byte[] bytes) {
+			int length = maxChars > 0 ? Math.min(bytes.length, maxChars) : bytes.length;
+			return truncate(new String(bytes, 0, length, StandardCharsets.UTF_8), bytes.length);
+		}
+		if (payload instanceof StreamCache cache && payload instanceof InputStream stream) {
+			cache.reset();
+			try {
+				byte[] bytes = maxChars > 0 ? stream.readNBytes(maxChars) : stream.readAllBytes();
+				long length = cache.length();
+				return truncate(new String(bytes, StandardCharsets.UTF_8), length > 0 ? length : bytes.length);
+			} finally {
+				cache.reset();
+			}
+		}
+		return "[" + payload.getClass().getName() + "]";
+	}
+
+	private String truncate(String text, long originalLength) {
+		if (maxChars > 0 && text.length() > maxChars) {
+			text = text.substring(0, maxChars);
+		}
+		if (maxChars > 0 && originalLength > maxChars) {
+			return text + "... [truncated, " + originalLength + " total]";
+		}
+		return text;
+	}
+
+}
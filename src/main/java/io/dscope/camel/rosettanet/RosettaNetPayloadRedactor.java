@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import org.apache.camel.Exchange;
+
+/**
+ * Hook to mask sensitive content (partner identifiers, pricing, contact details) before a
+ * payload excerpt is written to the log.
+ */
+@FunctionalInterface
+public interface RosettaNetPayloadRedactor {
+
+	/**
+	 * @param exchange the current exchange
+	 * @param payload the already truncated payload excerpt
+	 * @return the text to log
+	 */
+	String redact(Exchange exchange, String payload);
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+import org.apache.camel.CamelContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds the binding plans, JAXB contexts and optionally the validation schemas of selected PIPs
+ * ahead of the first message, one task per PIP version on a temporary thread pool.
+ * <p>
+ * Messages are selected with entries of the form {@code PIP3A4} (latest version), {@code PIP3A4:02_05}
+ * or {@code PIP3A4:*} (all versions). A warm-up marshals an empty root document and unmarshals it
+ * again a number of times per message so the JAXB code paths are compiled before traffic arrives.
+ * <p>
+ * In the {@code unified} context mode the packages of all selected messages are first bound into a
+ * single context, which then serves every selected message.
+ */
+public class RosettaNetPreloader {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RosettaNetPreloader.class);
+
+	private static final String ALL_VERSIONS = "*";
+
+	private final RosettaNetContextRegistry contextRegistry;
+	private final RosettaNetDictionaryIndex dictionaryIndex;
+	private final boolean schemas;
+	private final int warmUpIterations;
+
+	/**
+	 * @param contextRegistry registry receiving the plans, contexts and schemas
+	 * @param dictionaryIndex index the messages are selected from
+	 * @param schemas whether to compile the validation schema of every context as well
+	 * @param warmUpIterations number of synthetic round-trips per message, zero disables the warm-up
+	 */
+	public RosettaNetPreloader(RosettaNetContextRegistry contextRegistry, RosettaNetDictionaryIndex dictionaryIndex,
+			boolean schemas, int warmUpIterations) {
+		this.contextRegistry = contextRegistry;
+		this.dictionaryIndex = dictionaryIndex;
+		this.schemas = schemas;
+		this.warmUpIterations = warmUpIterations;
+	}
+
+	/**
+	 * Selects the messages addressed by a preload specification.
+	 *
+	 * @param specification comma separated {@code PIP[:version|:*]} entries
+	 * @return the selected messages grouped by "pipType:version"
+	 */
+	public Map<String, List<RosettaNetDictionaryIndex.Entry>> select(String specification) {
+		Map<String, List<RosettaNetDictionaryIndex.Entry>> selected = new LinkedHashMap<>();
+		for (String item : specification.split(",")) {
+			item = item.trim();
+			if (item.isEmpty()) {
+				continue;
+			}
+			int separator = item.indexOf(':');
+			String pipType = separator < 0 ? item : item.substring(0, separator).trim();
+			String version = separator < 0 ? dictionaryIndex.getLatestVersion(pipType) : item.substring(separator + 1).trim();
+
+			boolean found = false;
+			for (RosettaNetDictionaryIndex.Entry entry : dictionaryIndex.getEntries(pipType)) {
+				if (ALL_VERSIONS.equals(version) || entry.getVersion().equals(version)) {
+					add(selected, entry);
+					found = true;
+				}
+			}
+			if (!found) {
+				throw new IllegalArgumentException("No RosettaNet messages found to preload for " + item);
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * @return all messages of the dictionary grouped by "pipType:version"
+	 */
+	public Map<String, List<RosettaNetDictionaryIndex.Entry>> selectAll() {
+		Map<String, List<RosettaNetDictionaryIndex.Entry>> selected = new LinkedHashMap<>();
+		dictionaryIndex.getEntries().forEach(entry -> add(selected, entry));
+		return selected;
+	}
+
+	/**
+	 * Preloads the selected messages in parallel and waits for completion. Messages that fail to load
+	 * are logged and skipped, they are built again on first use.
+	 *
+	 * @param camelContext the camel context providing the thread pool
+	 * @param source owner of the thread pool
+	 * @param selected messages grouped by "pipType:version"
+	 * @return number of messages preloaded
+	 */
+	public int preload(CamelContext camelContext, Object source, Map<String, List<RosettaNetDictionaryIndex.Entry>> selected)
+			throws Exception {
+		int threads = Math.max(1, Math.min(selected.size(), Runtime.getRuntime().availableProcessors()));
+		ExecutorService executor = camelContext.getExecutorServiceManager().newFixedThreadPool(source, "RosettaNetPreload", threads);
+		try {
+			long start = System.nanoTime();
+			if (RosettaNetConfiguration.CONTEXT_UNIFIED.equals(contextRegistry.getContextMode())) {
+				unify(selected);
+			}
+
+			List<Future<Integer>> futures = new ArrayList<>(selected.size());
+			selected.forEach((group, entries) -> futures.add(executor.submit(() -> preloadGroup(group, entries))));
+
+			int loaded = 0;
+			for (Future<Integer> future : futures) {
+				loaded += future.get();
+			}
+			LOG.info("Preloaded {} RosettaNet messages of {} PIP versions in {} ms", loaded, selected.size(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			return loaded;
+		} finally {
+			camelContext.getExecutorServiceManager().shutdownNow(executor);
+		}
+	}
+
+	private void unify(Map<String, List<RosettaNetDictionaryIndex.Entry>> selected) {
+		Set<String> contextPaths = new LinkedHashSet<>();
+		try {
+			for (List<RosettaNetDictionaryIndex.Entry> entries : selected.values()) {
+				for (RosettaNetDictionaryIndex.Entry entry : entries) {
+					contextPaths.add(contextRegistry.getContextPath(entry.getPipType(), entry.getVersion(), entry.getName()));
+				}
+			}
+			contextRegistry.unify(contextPaths);
+		} catch (Exception | LinkageError e) {
+			// e.g. two packages binding the same XML type name, each message keeps its own context
+			LOG.warn("Unable to build a unified JAXB context for {} context paths, using one context per message package: {}",
+					contextPaths.size(), e.getMessage(), e);
+		}
+	}
+
+	private int preloadGroup(String group, List<RosettaNetDictionaryIndex.Entry> entries) {
+		long start = System.nanoTime();
+		int loaded = 0;
+		for (RosettaNetDictionaryIndex.Entry entry : entries) {
+			try {
+				RosettaNetBindingPlan plan = contextRegistry.getPlan(entry.getPipType(), entry.getVersion(), entry.getName());
+				if (schemas) {
+					contextRegistry.getSchema(plan);
+				}
+				if (warmUpIterations > 0) {
+					warmUp(plan);
+				}
+				loaded++;
+			} catch (Exception | LinkageError e) {
+				LOG.warn("Unable to preload RosettaNet message {}: {}", entry, e.getMessage(), e);
+			}
+		}
+		LOG.info("Preloaded {} ({} messages) in {} ms", group, loaded, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		return loaded;
+	}
+
+	private void warmUp(RosettaNetBindingPlan plan) throws Exception {
+		Class<?> rootClass = plan.getRootClass();
+		if (rootClass == null || plan.getRootElement() == null) {
+			return;
+		}
+		Object document = rootClass.getDeclaredConstructor().newInstance();
+		Marshaller marshaller = plan.getContext().createMarshaller();
+		Unmarshaller unmarshaller = plan.getContext().createUnmarshaller();
+		for (int i = 0; i < warmUpIterations; i++) {
+			StringWriter writer = new StringWriter();
+			marshaller.marshal(plan.wrapRoot(document), writer);
+			unmarshaller.unmarshal(new StringReader(writer.toString()));
+		}
+	}
+
+	private static void add(Map<String, List<RosettaNetDictionaryIndex.Entry>> selected, RosettaNetDictionaryIndex.Entry entry) {
+		selected.computeIfAbsent(entry.getPipType() + ":" + entry.getVersion(), k -> new ArrayList<>()).add(entry);
+	}
+
+}
@@ -16,27 +16,26 @@
 
 package io.dscope.camel.rosettanet;
 
-import java.io.StringReader;
-import java.io.StringWriter;
-import java.util.Optional;
-import java.util.Properties;
-
-import javax.xml.namespace.QName;
-
-import jakarta.xml.bind.JAXBContext;
-import jakarta.xml.bind.JAXBElement;
-import jakarta.xml.bind.Marshaller;
-import jakarta.xml.bind.Unmarshaller;
-
-import jakarta.xml.bind.annotation.XmlRootElement;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.support.DefaultAsyncProducer;
-
-import io.dscope.rosettanet.dictionary.RosettaNetDictionary;
-import io.dscope.rosettanet.dictionary.RosettaNetDictionary.MessageDefinition;
+import org.apache.camel.support.DefaultExchange;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +44,9 @@ public class RosettaNetProducer extends DefaultAsyncProducer {
 	public static final String PIP_TYPE_HEADER = "pipType";
 	public static final String VERSION_HEADER = "version";
 	public static final String MESSAGE_NAME_HEADER = "messageName";
+	public static final String DOCUMENT_HEADER_HEADER = "documentHeader";
+	public static final String BATCH_SIZE_HEADER = "batchSize";
+	public static final String BATCH_FAILURES_HEADER = "batchFailures";
 
 	private static final Logger LOG = LoggerFactory.getLogger(RosettaNetProducer.class);
 
@@ -67,11 +69,29 @@ public class RosettaNetProducer extends DefaultAsyncProducer {
 
 		String methodType = this.getEndpoint().getMethodType();
 
+		if (this.getEndpoint().isBatch() && (RosettaNetConfiguration.MARSHAL_PREFIX.equals(methodType)
+				|| RosettaNetConfiguration.UNMARSHAL_PREFIX.equals(methodType))) {
+			return this.processBatch(exchange, callback);
+		}
+
+		if (this.getEndpoint().isAsyncExecution()) {
+			return this.processAsync(exchange, callback, methodType);
+		}
+
+		return this.processSync(exchange, callback, methodType);
+	}
+
+	private boolean processSync(Exchange exchange, AsyncCallback callback, String methodType) {
+		RosettaNetOperations operations = this.getEndpoint().getOperations();
 		switch (methodType) {
 		case RosettaNetConfiguration.MARSHAL_PREFIX:
-			return this.marshall(exchange, callback);
+			return this.invoke(exchange, callback, operations::marshal);
 		case RosettaNetConfiguration.UNMARSHAL_PREFIX:
-			return this.unmarshall(exchange, callback);
+			return this.invoke(exchange, callback, operations::unmarshal);
+		case RosettaNetConfiguration.SPLIT_PREFIX:
+			return this.invoke(exchange, callback, operations::split);
+		case RosettaNetConfiguration.EXTRACT_HEADERS_PREFIX:
+			return this.invoke(exchange, callback, operations::extractHeaders);
 
 		}
 
@@ -81,154 +101,191 @@ public class RosettaNetProducer extends DefaultAsyncProducer {
 
 	}
 
-	boolean marshall(Exchange exchange, AsyncCallback callback) {
-		try {
-			String type = this.getEndpoint().getType();
-
-			String pipType = this.getEndpoint().getPipType();
-			String version = this.getEndpoint().getVersion();
-			String messageName = this.getEndpoint().getMessageName();
-
-			if (pipType == null)
-				pipType = (String) exchange.getMessage().getHeader(PIP_TYPE_HEADER);
-
-			if (version == null)
-				version = (String) exchange.getMessage().getHeader(VERSION_HEADER);
-
-			if (messageName == null)
-				messageName = (String) exchange.getMessage().getHeader(MESSAGE_NAME_HEADER);
-
-			if (pipType == null) {
-				throw new IllegalArgumentException("PIP type is required for marshalling");
-			}
-
-			// Get the message definition from the dictionary
-			Optional<MessageDefinition> definition = RosettaNetDictionary.findMessage(pipType, version, messageName);
-			
-			if (definition.isEmpty()) {
-				throw new IllegalArgumentException("No message definition found for PIP type: " + pipType + 
-						", version: " + version + ", messageName: " + messageName);
+	/**
+	 * Dispatches the operation to the async executor and returns immediately, the exchange is completed
+	 * on the executor thread. When the pending limit is reached or the executor rejects the task, the
+	 * rejection policy either fails the exchange or processes it on the calling thread.
+	 */
+	boolean processAsync(Exchange exchange, AsyncCallback callback, String methodType) {
+		RosettaNetEndpoint endpoint = this.getEndpoint();
+		if (endpoint.tryAcquireAsyncSlot()) {
+			try {
+				endpoint.resolveAsyncExecutor().execute(() -> {
+					try {
+						// completion is signalled below, once the slot is released
+						this.processSync(exchange, doneSync -> {
+						}, methodType);
+					} finally {
+						endpoint.releaseAsyncSlot();
+						callback.done(false);
+					}
+				});
+				return false;
+			} catch (RejectedExecutionException e) {
+				endpoint.releaseAsyncSlot();
+				LOG.debug("RosettaNet async executor rejected {}", exchange.getExchangeId());
 			}
+		}
 
-			MessageDefinition msgDef = definition.get();
-			LOG.debug("Marshalling RosettaNet message: {} - {}", msgDef.getType(), msgDef.getName());
-
-			Object document = exchange.getIn().getBody();
-
-			if (document == null) {
-				throw new IllegalArgumentException("Message body is null, cannot marshal");
-			}
-
-			Class <?> docClass = document.getClass();
-			LOG.debug("Marshalling document of type: {}", docClass.getName());
-
-			if (!docClass.isAnnotationPresent(XmlRootElement.class)) {
-				// Wrap in JAXBElement if no XmlRootElement annotation
-				Class<?> rootClass = Class.forName(msgDef.getPackageName() + "." + msgDef.getName());
-				XmlRootElement root = rootClass.getAnnotation(XmlRootElement.class);
-				if (root == null) {
-					throw new IllegalArgumentException("No @XmlRootElement found on class " + rootClass.getName());
-				}
-
-				QName qName = new QName(root.namespace(), root.name());
-				@SuppressWarnings("unchecked")
-				Class<Object> declaredType = (Class<Object>) docClass;
-				document = new JAXBElement<>(qName, declaredType, document);
-			}
-
-			// Create JAXB context from the properties file
-			Properties properties = RosettaNetDictionary.loadProperties(msgDef.getProperties());
-			String contextPath = properties.getProperty("packages");
-			if (contextPath == null || contextPath.trim().isEmpty()) {
-				throw new IllegalArgumentException("No JAXB packages found in properties file: " + msgDef.getProperties());
-			}
-			JAXBContext jaxbContext = JAXBContext.newInstance(contextPath.trim());
-			Marshaller marshaller = jaxbContext.createMarshaller();
-			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-
-			StringWriter writer = new StringWriter();
-			marshaller.marshal(document, writer);
-			String xmlOutput = writer.toString();
-
-			LOG.debug("Marshalled XML message: {}", xmlOutput);
-			exchange.getMessage().setBody(xmlOutput);
-
+		if (RosettaNetConfiguration.ASYNC_ABORT.equals(endpoint.getAsyncRejectionPolicy())) {
+			exchange.setException(new RejectedExecutionException("RosettaNet " + methodType + " rejected, "
+					+ endpoint.getAsyncMaxPending() + " messages already pending on " + endpoint.getEndpointUri()));
 			callback.done(true);
 			return true;
+		}
+		return this.processSync(exchange, callback, methodType);
+	}
 
+	/**
+	 * Runs an operation on the calling thread and completes the exchange, setting any
+	 * failure on it.
+	 */
+	boolean invoke(Exchange exchange, AsyncCallback callback, Operation operation) {
+		try {
+			operation.run(exchange);
 		} catch (Throwable e) {
-			LOG.error(e.getLocalizedMessage(), e);
+			// the route error handler takes care of logging, avoid a second stack trace per failed message
+			LOG.debug("RosettaNet {} failed: {}", this.getEndpoint().getMethodType(), e.getMessage());
 			exchange.setException(e);
-			callback.done(true);
-			return true;
 		}
+		callback.done(true);
+		return true;
 	}
 
-	boolean unmarshall(Exchange exchange, AsyncCallback callback) {
-		try {
-			String type = this.getEndpoint().getType();
-
-			String pipType = this.getEndpoint().getPipType();
-			String version = this.getEndpoint().getVersion();
-			String messageName = this.getEndpoint().getMessageName();
-
-			if (pipType == null)
-				pipType = (String) exchange.getMessage().getHeader(PIP_TYPE_HEADER);
-
-			if (version == null)
-				version = (String) exchange.getMessage().getHeader(VERSION_HEADER);
-
-			if (messageName == null)
-				messageName = (String) exchange.getMessage().getHeader(MESSAGE_NAME_HEADER);
+	@FunctionalInterface
+	interface Operation {
+		void run(Exchange exchange) throws Exception;
+	}
 
-			if (pipType == null) {
-				throw new IllegalArgumentException("PIP type is required for unmarshalling");
+	/**
+	 * Processes every document of the body on the endpoint worker pool and completes the exchange
+	 * asynchronously with the ordered list of results. Failed documents are reported in their result
+	 * instead of failing the exchange; an {@link Error} thrown by a document fails the exchange. At most
+	 * {@code maxInFlight} documents are submitted ahead of the workers: the calling thread reads the body
+	 * and blocks while that many documents are pending, so large streams are not queued at once. Only
+	 * the completion once the last documents are done is asynchronous. If reading the body or submitting
+	 * fails, the exchange fails once the documents already submitted are done.
+	 */
+	boolean processBatch(Exchange exchange, AsyncCallback callback) {
+		List<CompletableFuture<RosettaNetBatchResult>> futures = new ArrayList<>();
+		try {
+			RosettaNetEndpoint endpoint = this.getEndpoint();
+			boolean unmarshal = RosettaNetConfiguration.UNMARSHAL_PREFIX.equals(endpoint.getMethodType());
+			ExecutorService executor = endpoint.resolveBatchExecutor();
+			Semaphore inFlight = new Semaphore(endpoint.getMaxInFlight() > 0 ? endpoint.getMaxInFlight() : endpoint.getWorkerCount() * 2);
+			Object body = exchange.getIn().getBody();
+
+			try {
+				Iterator<?> items = iterate(body);
+				while (items.hasNext()) {
+					Object item = items.next();
+					int index = futures.size();
+					inFlight.acquire();
+					CompletableFuture<RosettaNetBatchResult> future;
+					try {
+						future = CompletableFuture.supplyAsync(() -> this.processItem(exchange, index, item, unmarshal), executor);
+					} catch (RejectedExecutionException e) {
+						inFlight.release();
+						throw e;
+					}
+					future.whenComplete((result, error) -> inFlight.release());
+					futures.add(future);
+				}
+			} finally {
+				if (body instanceof Stream<?> stream) {
+					stream.close();
+				}
 			}
+			LOG.debug("Submitted batch of {} documents", futures.size());
 
-			// Get the message definition from the dictionary
-			Optional<MessageDefinition> definition = RosettaNetDictionary.findMessage(pipType, version, messageName);
-			
-			if (definition.isEmpty()) {
-				throw new IllegalArgumentException("No message definition found for PIP type: " + pipType + 
-						", version: " + version + ", messageName: " + messageName);
+		} catch (Throwable e) {
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
 			}
+			LOG.debug("RosettaNet batch {} failed: {}", this.getEndpoint().getMethodType(), e.getMessage());
+			exchange.setException(e);
+			if (futures.isEmpty()) {
+				callback.done(true);
+				return true;
+			}
+			// the submitted documents still read the exchange headers, complete once they are done
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> callback.done(false));
+			return false;
+		}
 
-			MessageDefinition msgDef = definition.get();
-			LOG.debug("Unmarshalling RosettaNet message: {} - {}", msgDef.getType(), msgDef.getName());
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+			try {
+				if (error != null) {
+					// only errors escape processItem, the batch results are incomplete
+					exchange.setException(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+					return;
+				}
 
-			String xmlInput = exchange.getIn().getBody(String.class);
-			LOG.debug("Unmarshalling XML message: {}", xmlInput);
+				List<RosettaNetBatchResult> results = new ArrayList<>(futures.size());
+				int failures = 0;
+				for (CompletableFuture<RosettaNetBatchResult> future : futures) {
+					RosettaNetBatchResult result = future.join();
+					if (result.isFailed()) {
+						failures++;
+					}
+					results.add(result);
+				}
 
-			// Create JAXB context from the properties file
-			Properties properties = RosettaNetDictionary.loadProperties(msgDef.getProperties());
-			String contextPath = properties.getProperty("packages");
-			if (contextPath == null || contextPath.trim().isEmpty()) {
-				throw new IllegalArgumentException("No JAXB packages found in properties file: " + msgDef.getProperties());
-			}
-			JAXBContext jaxbContext = JAXBContext.newInstance(contextPath.trim());
-			Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-
-			Object document = unmarshaller.unmarshal(new StringReader(xmlInput));
-			
-			// Handle JAXBElement wrapper
-			if (document instanceof JAXBElement) {
-				document = ((JAXBElement<?>) document).getValue();
+				exchange.getMessage().setBody(results);
+				exchange.getMessage().setHeader(BATCH_SIZE_HEADER, results.size());
+				exchange.getMessage().setHeader(BATCH_FAILURES_HEADER, failures);
+			} catch (Throwable e) {
+				exchange.setException(e);
+			} finally {
+				callback.done(false);
 			}
+		});
+		return false;
+	}
 
-			exchange.getMessage().setBody(document);
-			exchange.getMessage().setHeader(PIP_TYPE_HEADER, msgDef.getType());
-			exchange.getMessage().setHeader(VERSION_HEADER, msgDef.getVersion());
-			exchange.getMessage().setHeader(MESSAGE_NAME_HEADER, msgDef.getName());
+	private RosettaNetBatchResult processItem(Exchange exchange, int index, Object item, boolean unmarshal) {
+		RosettaNetOperations operations = this.getEndpoint().getOperations();
+		Exchange itemExchange = new DefaultExchange(exchange.getContext());
+		itemExchange.getIn().getHeaders().putAll(exchange.getIn().getHeaders());
 
-			callback.done(true);
-			return true;
+		try {
+			Path file = item instanceof File f ? f.toPath() : item instanceof Path p ? p : null;
+			if (unmarshal && file != null) {
+				try (InputStream is = RosettaNetXmlHelper.openFile(file, this.getEndpoint().getMappedFileThreshold())) {
+					itemExchange.getIn().setBody(is);
+					operations.unmarshal(itemExchange);
+				}
+			} else {
+				itemExchange.getIn().setBody(item);
+				if (unmarshal) {
+					operations.unmarshal(itemExchange);
+				} else {
+					operations.marshal(itemExchange);
+				}
+			}
+			return new RosettaNetBatchResult(index, itemExchange.getMessage().getBody(), null);
 
-		} catch (Throwable e) {
-			LOG.error(e.getLocalizedMessage(), e);
-			exchange.setException(e);
-			callback.done(true);
-			return true;
+		} catch (Exception e) {
+			LOG.debug("RosettaNet batch item {} failed: {}", index, e.getMessage());
+			return new RosettaNetBatchResult(index, null, e);
+		}
+	}
+
+	private static Iterator<?> iterate(Object body) {
+		if (body instanceof Iterator<?> iterator) {
+			return iterator;
+		}
+		if (body instanceof Iterable<?> iterable) {
+			return iterable.iterator();
+		}
+		if (body instanceof Stream<?> stream) {
+			return stream.iterator();
+		}
+		if (body instanceof Object[] array) {
+			return Arrays.asList(array).iterator();
 		}
+		// a single document is a batch of one
+		return Collections.singletonList(body).iterator();
 	}
 
 }
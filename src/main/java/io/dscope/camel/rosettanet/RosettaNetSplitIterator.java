@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import jakarta.xml.bind.Unmarshaller;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * Lazily unmarshals the repeating elements of a document, one at a time, from a StAX reader.
+ * <p>
+ * Only the current element is held in memory, so documents of any size can be split with flat heap
+ * usage. The input is released once the last element has been read or when
+ * the iterator is closed, which Camel's splitter does when it is done.
+ */
+public class RosettaNetSplitIterator implements Iterator<Object>, Closeable {
+
+	private final XMLStreamReader reader;
+	private final Closeable source;
+	private final String element;
+	private final Class<?> type;
+
+	private Unmarshaller unmarshaller;
+	private boolean closed;
+
+	/**
+	 * @param reader StAX reader over the document
+	 * @param source the input the reader was created from, closed with the iterator, may be {@code null}
+	 * @param unmarshaller unmarshaller used until the iterator is closed
+	 * @param element local name of the repeating element
+	 * @param type class the repeating element is bound to
+	 */
+	public RosettaNetSplitIterator(XMLStreamReader reader, Closeable source, Unmarshaller unmarshaller, String element,
+			Class<?> type) {
+		this.reader = reader;
+		this.source = source;
+		this.unmarshaller = unmarshaller;
+		this.element = element;
+		this.type = type;
+	}
+
+	/**
+	 * Reads the element with the given name if it comes before the first repeating element, typically
+	 * the document header.
+	 *
+	 * @param headerElement local name of the element
+	 * @param headerType class the element is bound to
+	 * @return the unmarshalled element, or {@code null} if not found before the first repeating element
+	 */
+	public Object readHeader(String headerElement, Class<?> headerType) {
+		try {
+			while (!closed) {
+				if (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+					String name = reader.getLocalName();
+					if (element.equals(name)) {
+						return null;
+					}
+					if (headerElement.equals(name)) {
+						return unmarshaller.unmarshal(reader, headerType).getValue();
+					}
+				}
+				if (!reader.hasNext()) {
+					return null;
+				}
+				reader.next();
+			}
+			return null;
+		} catch (Exception e) {
+			close();
+			throw RuntimeCamelException.wrapRuntimeCamelException(e);
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (closed) {
+			return false;
+		}
+		try {
+			if (advance()) {
+				return true;
+			}
+		} catch (XMLStreamException e) {
+			close();
+			throw RuntimeCamelException.wrapRuntimeCamelException(e);
+		}
+		close();
+		return false;
+	}
+
+	@Override
+	public Object next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		try {
+			// leaves the reader on the event following the end tag
+			return unmarshaller.unmarshal(reader, type).getValue();
+		} catch (Exception e) {
+			close();
+			throw RuntimeCamelException.wrapRuntimeCamelException(e);
+		}
+	}
+
+	/**
+	 * Moves the reader to the next start tag of the repeating element, unless already there.
+	 */
+	private boolean advance() throws XMLStreamException {
+		while (true) {
+			if (reader.getEventType() == XMLStreamConstants.START_ELEMENT && element.equals(reader.getLocalName())) {
+				return true;
+			}
+			if (!reader.hasNext()) {
+				return false;
+			}
+			reader.next();
+		}
+	}
+
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			reader.close();
+		} catch (XMLStreamException e) {
+			// the source is closed below anyway
+		}
+		IOHelper.close(source);
+		unmarshaller = null;
+	}
+
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * Component scoped operation statistics, exposed via JMX.
+ * <p>
+ * Samples are kept per (operation, PIP type, version, message name) in lock-free counters and
+ * log-linear histograms of duration and document size, so percentiles are reported with a relative
+ * error below 25% without storing individual samples. Failures are additionally counted by exception type.
+ */
+@ManagedResource(description = "RosettaNet operation statistics")
+public class RosettaNetStatistics extends ServiceSupport implements RosettaNetMetrics {
+
+	private static final String UNKNOWN = "unknown";
+
+	private final ConcurrentMap<String, OperationStatistics> statistics = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> failuresByCause = new ConcurrentHashMap<>();
+
+	@Override
+	public void recordSuccess(String operation, String pipType, String version, String messageName, long durationNanos,
+			long documentSize) {
+		getOrCreate(operation, pipType, version, messageName).recordSuccess(durationNanos, documentSize);
+	}
+
+	@Override
+	public void recordFailure(String operation, String pipType, String version, String messageName, long durationNanos,
+			Throwable cause) {
+		String causeName = cause.getClass().getSimpleName();
+		getOrCreate(operation, pipType, version, messageName).recordFailure(durationNanos, causeName);
+		failuresByCause.computeIfAbsent(causeName, k -> new LongAdder()).increment();
+	}
+
+	/**
+	 * @param operation marshal, unmarshal, split or extractHeaders
+	 * @param pipType the PIP type
+	 * @param version the version
+	 * @param messageName the message name
+	 * @return the statistics of that operation and message, or {@code null} if none was recorded
+	 */
+	public OperationStatistics getStatistics(String operation, String pipType, String version, String messageName) {
+		return statistics.get(key(operation, pipType, version, messageName));
+	}
+
+	/**
+	 * @return statistics by "operation pipType:version:messageName"
+	 */
+	public Map<String, OperationStatistics> getStatistics() {
+		return new TreeMap<>(statistics);
+	}
+
+	@ManagedAttribute(description = "Number of completed operations")
+	public long getOperationCount() {
+		return statistics.values().stream().mapToLong(OperationStatistics::getCount).sum();
+	}
+
+	@ManagedAttribute(description = "Number of failed operations")
+	public long getFailureCount() {
+		return statistics.values().stream().mapToLong(OperationStatistics::getFailures).sum();
+	}
+
+	@ManagedAttribute(description = "Number of distinct operation and message combinations seen")
+	public int getMessageTypeCount() {
+		return statistics.size();
+	}
+
+	@ManagedOperation(description = "Count, failures, duration percentiles in millis and sizes per operation and message")
+	public String dumpStatistics() {
+		StringBuilder sb = new StringBuilder();
+		getStatistics().forEach((key, stats) -> sb.append(key).append(": ").append(stats).append('\n'));
+		return sb.toString();
+	}
+
+	@ManagedOperation(description = "Failure counts by exception type")
+	public String dumpFailures() {
+		StringBuilder sb = new StringBuilder();
+		new TreeMap<>(failuresByCause).forEach((cause, count) -> sb.append(cause).append(": ").append(count.sum()).append('\n'));
+		return sb.toString();
+	}
+
+	@ManagedOperation(description = "Discard all recorded statistics")
+	public void resetStatistics() {
+		statistics.clear();
+		failuresByCause.clear();
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		resetStatistics();
+	}
+
+	private OperationStatistics getOrCreate(String operation, String pipType, String version, String messageName) {
+		String key = key(operation, pipType, version, messageName);
+		OperationStatistics stats = statistics.get(key);
+		return stats != null ? stats : statistics.computeIfAbsent(key, k -> new OperationStatistics());
+	}
+
+	private static String key(String operation, String pipType, String version, String messageName) {
+		return operation + " " + (pipType != null ? pipType : UNKNOWN) + ":" + (version != null ? version : UNKNOWN) + ":"
+				+ (messageName != null ? messageName : UNKNOWN);
+	}
+
+	/**
+	 * Counters and histograms of one operation on one message.
+	 */
+	public static final class OperationStatistics {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder totalDuration = new LongAdder();
+		private final AtomicLong maxDuration = new AtomicLong();
+		private final LongAdder totalSize = new LongAdder();
+		private final AtomicLong maxSize = new AtomicLong();
+		private final Histogram durations = new Histogram();
+		private final Histogram sizes = new Histogram();
+		private final ConcurrentMap<String, LongAdder> failuresByCause = new ConcurrentHashMap<>();
+
+		void recordSuccess(long durationNanos, long documentSize) {
+			recordDuration(durationNanos);
+			if (documentSize >= 0) {
+				totalSize.add(documentSize);
+				maxSize.accumulateAndGet(documentSize, Math::max);
+				sizes.record(documentSize);
+			}
+		}
+
+		void recordFailure(long durationNanos, String cause) {
+			recordDuration(durationNanos);
+			failures.increment();
+			failuresByCause.computeIfAbsent(cause, k -> new LongAdder()).increment();
+		}
+
+		private void recordDuration(long durationNanos) {
+			count.increment();
+			totalDuration.add(durationNanos);
+			maxDuration.accumulateAndGet(durationNanos, Math::max);
+			durations.record(durationNanos);
+		}
+
+		/**
+		 * @return number of operations, failed ones included
+		 */
+		public long getCount() {
+			return count.sum();
+		}
+
+		/**
+		 * @return number of failed operations
+		 */
+		public long getFailures() {
+			return failures.sum();
+		}
+
+		/**
+		 * @return failure counts by exception type
+		 */
+		public Map<String, Long> getFailuresByCause() {
+			Map<String, Long> result = new TreeMap<>();
+			failuresByCause.forEach((cause, counter) -> result.put(cause, counter.sum()));
+			return result;
+		}
+
+		/**
+		 * @return mean duration in nanos
+		 */
+		public long getMeanDuration() {
+			long n = count.sum();
+			return n > 0 ? totalDuration.sum() / n : 0;
+		}
+
+		/**
+		 * @return longest duration in nanos
+		 */
+		public long getMaxDuration() {
+			return maxDuration.get();
+		}
+
+		/**
+		 * @param percentile between 0 and 1, e.g. 0.99
+		 * @return upper bound of the duration percentile in nanos
+		 */
+		public long getDurationPercentile(double percentile) {
+			return durations.percentile(percentile);
+		}
+
+		/**
+		 * @return mean document size of successful operations with a known size
+		 */
+		public long getMeanSize() {
+			long n = sizes.count();
+			return n > 0 ? totalSize.sum() / n : 0;
+		}
+
+		/**
+		 * @return largest document size
+		 */
+		public long getMaxSize() {
+			return maxSize.get();
+		}
+
+		/**
+		 * @param percentile between 0 and 1, e.g. 0.99
+		 * @return upper bound of the document size percentile
+		 */
+		public long getSizePercentile(double percentile) {
+			return sizes.percentile(percentile);
+		}
+
+		@Override
+		public String toString() {
+			return "count=" + getCount() + ", failures=" + getFailures()
+					+ ", mean=" + millis(getMeanDuration()) + ", p50=" + millis(getDurationPercentile(0.5))
+					+ ", p95=" + millis(getDurationPercentile(0.95)) + ", p99=" + millis(getDurationPercentile(0.99))
+					+ ", max=" + millis(getMaxDuration()) + ", meanSize=" + getMeanSize() + ", p95Size="
+					+ getSizePercentile(0.95) + ", maxSize=" + getMaxSize()
+					+ (failuresByCause.isEmpty() ? "" : ", failuresByCause=" + getFailuresByCause());
+		}
+
+		private static String millis(long nanos) {
+			return String.format("%.3fms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+		}
+	}
+
+	/**
+	 * Log-linear histogram of non-negative values: four buckets per power of two.
+	 */
+	static final class Histogram {
+		private static final int BUCKETS = 248;
+
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+		private final LongAdder count = new LongAdder();
+
+		void record(long value) {
+			buckets.incrementAndGet(bucket(Math.max(0, value)));
+			count.increment();
+		}
+
+		long count() {
+			return count.sum();
+		}
+
+		long percentile(double percentile) {
+			long total = count.sum();
+			if (total == 0) {
+				return 0;
+			}
+			long rank = Math.max(1, (long) Math.ceil(percentile * total));
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += buckets.get(i);
+				if (seen >= rank) {
+					return upperBound(i);
+				}
+			}
+			return upperBound(BUCKETS - 1);
+		}
+
+		static int bucket(long value) {
+			if (value < 4) {
+				return (int) value;
+			}
+			int exponent = 63 - Long.numberOfLeadingZeros(value);
+			int sub = (int) ((value >>> (exponent - 2)) & 3);
+			return (exponent - 1) * 4 + sub;
+		}
+
+		static long upperBound(int bucket) {
+			if (bucket < 4) {
+				return bucket;
+			}
+			int exponent = bucket / 4 + 1;
+			long lower = (4L + bucket % 4) << (exponent - 2);
+			return lower + (1L << (exponent - 2)) - 1;
+		}
+	}
+
+}
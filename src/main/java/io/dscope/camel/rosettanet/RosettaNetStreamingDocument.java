@@ -0,0 +1,222 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Outbound document assembled from parts instead of one JAXB object graph, for documents too large
+ * to build in memory such as forecasts or advance ship notices with many line items.
+ * <p>
+ * Sent to {@code rosettanet:marshal}, the root element of the message is written with StAX and each
+ * part in order: single elements (e.g. the document header), plain start and end tags around the
+ * repeating items, and the items themselves, pulled one at a time from an {@link Iterator} or
+ * {@link Stream} and marshalled as fragments. Element names are local names resolved against the
+ * message root class, see {@link RosettaNetBindingPlan#getElementName(String)}.
+ *
+ * <pre>
+ * new RosettaNetStreamingDocument()
+ *     .element("DocumentHeader", header)
+ *     .startElement("PurchaseOrder")
+ *     .element("GlobalPurchaseOrderTypeCode", "Standard")
+ *     .items("ProductLineItem", lineItems)
+ *     .endElement();
+ * </pre>
+ */
+public class RosettaNetStreamingDocument {
+
+	private final List<Part> parts = new ArrayList<>();
+
+	/**
+	 * Adds a single element.
+	 *
+	 * @param localName local name of the element
+	 * @param value JAXB object or simple value of the element
+	 * @return this document
+	 */
+	public RosettaNetStreamingDocument element(String localName, Object value) {
+		parts.add(new Part(Part.ELEMENT, localName, value));
+		return this;
+	}
+
+	/**
+	 * Adds a single element carrying its own name, a {@link JAXBElement} or an {@link XmlRootElement} object.
+	 *
+	 * @param value the element
+	 * @return this document
+	 */
+	public RosettaNetStreamingDocument element(Object value) {
+		parts.add(new Part(Part.ELEMENT, null, value));
+		return this;
+	}
+
+	/**
+	 * Opens an element, closed by the matching {@link #endElement()}.
+	 *
+	 * @param localName local name of the element
+	 * @return this document
+	 */
+	public RosettaNetStreamingDocument startElement(String localName) {
+		parts.add(new Part(Part.START, localName, null));
+		return this;
+	}
+
+	/**
+	 * Closes the element last opened with {@link #startElement(String)}.
+	 *
+	 * @return this document
+	 */
+	public RosettaNetStreamingDocument endElement() {
+		parts.add(new Part(Part.END, null, null));
+		return this;
+	}
+
+	/**
+	 * Adds repeating elements, consumed lazily while the document is written.
+	 *
+	 * @param localName local name of each item element
+	 * @param items the items
+	 * @return this document
+	 */
+	public RosettaNetStreamingDocument items(String localName, Iterator<?> items) {
+		parts.add(new Part(Part.ITEMS, localName, items));
+		return this;
+	}
+
+	/**
+	 * Adds repeating elements, consumed lazily while the document is written and closed afterwards.
+	 *
+	 * @param localName local name of each item element
+	 * @param items the items
+	 * @return this document
+	 */
+	public RosettaNetStreamingDocument items(String localName, Stream<?> items) {
+		parts.add(new Part(Part.ITEMS, localName, items));
+		return this;
+	}
+
+	/**
+	 * Writes the document, including its root element, to the writer.
+	 *
+	 * @param writer StAX writer repairing namespaces
+	 * @param marshaller marshaller configured to write fragments
+	 * @param plan binding plan of the message
+	 * @return number of items written
+	 */
+	public long writeTo(XMLStreamWriter writer, Marshaller marshaller, RosettaNetBindingPlan plan)
+			throws XMLStreamException, JAXBException {
+		QName root = plan.getRootElement();
+		if (root == null) {
+			throw new IllegalArgumentException("No root element known for message " + plan.getMessageDefinition().getName());
+		}
+
+		long count = 0;
+		writer.setDefaultNamespace(root.getNamespaceURI());
+		writer.writeStartElement(root.getNamespaceURI(), root.getLocalPart());
+		writer.writeDefaultNamespace(root.getNamespaceURI());
+
+		for (Part part : parts) {
+			switch (part.kind) {
+			case Part.START:
+				QName name = resolveName(plan, part.localName);
+				writer.writeStartElement(name.getNamespaceURI(), name.getLocalPart());
+				break;
+			case Part.END:
+				writer.writeEndElement();
+				break;
+			case Part.ELEMENT:
+				marshaller.marshal(wrap(plan, part.localName, part.value), writer);
+				break;
+			default:
+				count += writeItems(writer, marshaller, plan, part);
+			}
+		}
+
+		writer.writeEndElement();
+		return count;
+	}
+
+	private long writeItems(XMLStreamWriter writer, Marshaller marshaller, RosettaNetBindingPlan plan, Part part)
+			throws XMLStreamException, JAXBException {
+		Stream<?> stream = part.value instanceof Stream<?> s ? s : null;
+		Iterator<?> items = stream != null ? stream.iterator() : (Iterator<?>) part.value;
+
+		long count = 0;
+		try {
+			while (items.hasNext()) {
+				marshaller.marshal(wrap(plan, part.localName, items.next()), writer);
+				count++;
+			}
+		} finally {
+			if (stream != null) {
+				stream.close();
+			}
+		}
+		return count;
+	}
+
+	private static Object wrap(RosettaNetBindingPlan plan, String localName, Object value) {
+		if (value instanceof JAXBElement || value.getClass().isAnnotationPresent(XmlRootElement.class)) {
+			return value;
+		}
+		if (localName == null) {
+			throw new IllegalArgumentException("No element name given for " + value.getClass().getName());
+		}
+
+		@SuppressWarnings("unchecked")
+		Class<Object> declaredType = (Class<Object>) value.getClass();
+		return new JAXBElement<>(resolveName(plan, localName), declaredType, value);
+	}
+
+	/**
+	 * Resolves a local name against the message, falling back to the namespace of the root element.
+	 */
+	private static QName resolveName(RosettaNetBindingPlan plan, String localName) {
+		QName name = plan.getElementName(localName);
+		return name != null ? name : new QName(plan.getRootElement().getNamespaceURI(), localName);
+	}
+
+	private static final class Part {
+		static final int ELEMENT = 0;
+		static final int START = 1;
+		static final int END = 2;
+		static final int ITEMS = 3;
+
+		private final int kind;
+		private final String localName;
+		private final Object value;
+
+		Part(int kind, String localName, Object value) {
+			this.kind = kind;
+			this.localName = localName;
+			this.value = value;
+		}
+	}
+
+}
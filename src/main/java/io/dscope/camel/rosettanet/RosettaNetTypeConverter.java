@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import javax.xml.transform.dom.DOMResult;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.support.TypeConverterSupport;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * Fallback type converter between RosettaNet JAXB documents and {@code String}, {@code byte[]},
+ * {@code InputStream} and DOM {@code Document}, so {@code convertBodyTo} works without an explicit
+ * marshal or unmarshal step.
+ * <p>
+ * The message is resolved from the document class through the dictionary index and converted with
+ * the shared JAXB contexts and pooled (un)marshallers of the {@code rosettanet} component, instead of
+ * the generic Camel JAXB path which builds a context per conversion. Any other value is left to the
+ * remaining converters.
+ */
+public class RosettaNetTypeConverter extends TypeConverterSupport {
+
+	private static final String MODEL_PACKAGE = "io.dscope.rosettanet.";
+
+	private final CamelContext camelContext;
+	private volatile RosettaNetComponent component;
+
+	public RosettaNetTypeConverter(CamelContext camelContext) {
+		this.camelContext = camelContext;
+	}
+
+	@Override
+	public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
+		if (value == null) {
+			return null;
+		}
+		try {
+			Object document = value instanceof JAXBElement<?> element ? element.getValue() : value;
+			if (isModel(document.getClass()) && isXmlTarget(type)) {
+				return type.cast(marshal(type, document, value));
+			}
+			if (isModel(type) && isXmlSource(value)) {
+				return unmarshal(type, exchange, value);
+			}
+		} catch (TypeConversionException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new TypeConversionException(value, type, e);
+		}
+		return null;
+	}
+
+	private Object marshal(Class<?> type, Object document, Object value) throws Exception {
+		RosettaNetBindingPlan plan = resolvePlan(document.getClass());
+		if (plan == null) {
+			return null;
+		}
+
+		RosettaNetMarshallerPool pool = getComponent().getConverterPool(plan.getContext());
+		Marshaller marshaller = pool.acquireMarshaller();
+		try {
+			Object root = plan.wrapRoot(value);
+			if (Document.class == type || Node.class == type) {
+				DOMResult result = new DOMResult();
+				marshaller.marshal(root, result);
+				return result.getNode();
+			}
+			if (String.class == type) {
+				return RosettaNetXmlHelper.marshal(marshaller, null, root, RosettaNetConfiguration.OUTPUT_STRING, 0);
+			}
+			byte[] bytes = (byte[]) RosettaNetXmlHelper.marshal(marshaller, null, root, RosettaNetConfiguration.OUTPUT_BYTES, 0);
+			return byte[].class == type ? bytes : new ByteArrayInputStream(bytes);
+		} finally {
+			pool.releaseMarshaller(marshaller);
+		}
+	}
+
+	private <T> T unmarshal(Class<T> type, Exchange exchange, Object value) throws Exception {
+		RosettaNetBindingPlan plan = resolvePlan(type);
+		if (plan == null) {
+			return null;
+		}
+
+		RosettaNetMarshallerPool pool = getComponent().getConverterPool(plan.getContext());
+		Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+		try {
+			Object document = RosettaNetXmlHelper.unmarshal(unmarshaller, exchange, value);
+			return type.isInstance(document) ? type.cast(document) : null;
+		} finally {
+			pool.releaseUnmarshaller(unmarshaller);
+		}
+	}
+
+	private RosettaNetBindingPlan resolvePlan(Class<?> type) throws Exception {
+		RosettaNetDictionaryIndex.Entry entry = getComponent().getDictionaryIndex().findByClass(type);
+		return entry != null
+				? getComponent().getContextRegistry().getPlan(entry.getPipType(), entry.getVersion(), entry.getName())
+				: null;
+	}
+
+	private RosettaNetComponent getComponent() {
+		RosettaNetComponent answer = component;
+		if (answer == null) {
+			answer = component = camelContext.getComponent("rosettanet", RosettaNetComponent.class);
+		}
+		return answer;
+	}
+
+	private static boolean isModel(Class<?> type) {
+		return type.getName().startsWith(MODEL_PACKAGE);
+	}
+
+	private static boolean isXmlTarget(Class<?> type) {
+		return type == String.class || type == byte[].class || type == InputStream.class || type == Document.class
+				|| type == Node.class;
+	}
+
+	private static boolean isXmlSource(Object value) {
+		return value instanceof String || value instanceof byte[] || value instanceof InputStream || value instanceof Node;
+	}
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import org.apache.camel.TypeConverterLoaderException;
+import org.apache.camel.spi.TypeConverterLoader;
+import org.apache.camel.spi.TypeConverterRegistry;
+
+/**
+ * Registers {@link RosettaNetTypeConverter} as a fallback converter, discovered by Camel through
+ * {@code META-INF/services/org/apache/camel/TypeConverterLoader}.
+ */
+public class RosettaNetTypeConverterLoader implements TypeConverterLoader {
+
+	@Override
+	public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
+		registry.addFallbackTypeConverter(new RosettaNetTypeConverter(registry.getCamelContext()), false);
+	}
+
+}
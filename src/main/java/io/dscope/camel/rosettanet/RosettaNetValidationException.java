@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import jakarta.xml.bind.JAXBException;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.ValidationException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * Thrown when a document does not conform to the schema of its RosettaNet message, carrying the
+ * position of the first violation when the parser reported one.
+ */
+public class RosettaNetValidationException extends ValidationException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String direction;
+	private final int lineNumber;
+	private final int columnNumber;
+
+	public RosettaNetValidationException(Exchange exchange, String direction, String messageName, SAXParseException cause) {
+		super(describe(direction, messageName, cause), exchange, cause);
+		this.direction = direction;
+		this.lineNumber = cause.getLineNumber();
+		this.columnNumber = cause.getColumnNumber();
+	}
+
+	/**
+	 * Converts a JAXB failure caused by a schema violation, other failures are returned as they are.
+	 *
+	 * @param exchange the current exchange
+	 * @param direction inbound or outbound
+	 * @param messageName the RosettaNet message name
+	 * @param e the failure
+	 * @return the validation exception, or {@code e}
+	 */
+	public static Exception translate(Exchange exchange, String direction, String messageName, Exception e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SAXParseException parseException) {
+				return new RosettaNetValidationException(exchange, direction, messageName, parseException);
+			}
+			if (cause instanceof JAXBException jaxb && jaxb.getLinkedException() instanceof SAXParseException linked) {
+				return new RosettaNetValidationException(exchange, direction, messageName, linked);
+			}
+		}
+		return e;
+	}
+
+	private static String describe(String direction, String messageName, SAXParseException cause) {
+		StringBuilder message = new StringBuilder("Invalid ").append(direction).append(' ').append(messageName);
+		if (cause.getLineNumber() > 0) {
+			message.append(" at line ").append(cause.getLineNumber()).append(", column ").append(cause.getColumnNumber());
+		}
+		return message.append(": ").append(cause.getMessage()).toString();
+	}
+
+	/**
+	 * @return inbound for unmarshalled documents, outbound for marshalled ones
+	 */
+	public String getDirection() {
+		return direction;
+	}
+
+	/**
+	 * @return line of the first violation, or -1 if unknown
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * @return column of the first violation, or -1 if unknown
+	 */
+	public int getColumnNumber() {
+		return columnNumber;
+	}
+
+}
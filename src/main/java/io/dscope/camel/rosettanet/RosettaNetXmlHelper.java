@@ -0,0 +1,603 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.validation.Schema;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.component.file.GenericFile;
+import org.apache.camel.converter.stream.CachedOutputStream;
+import org.apache.camel.util.IOHelper;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * Helper methods feeding message bodies to JAXB without decoding them into an intermediate String.
+ */
+public final class RosettaNetXmlHelper {
+
+	private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+	private static final XMLOutputFactory OUTPUT_FACTORY = createOutputFactory();
+
+	private RosettaNetXmlHelper() {
+	}
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
+
+	private static XMLOutputFactory createOutputFactory() {
+		XMLOutputFactory factory = XMLOutputFactory.newFactory();
+		// fragments marshalled into the writer declare whatever namespaces they need
+		factory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, Boolean.TRUE);
+		return factory;
+	}
+
+	/**
+	 * Creates a StAX reader with DTDs and external entities disabled.
+	 *
+	 * @param stream the XML input, the encoding is taken from the document
+	 * @return a new stream reader
+	 */
+	public static XMLStreamReader createXMLStreamReader(InputStream stream) throws XMLStreamException {
+		return INPUT_FACTORY.createXMLStreamReader(stream);
+	}
+
+	/**
+	 * Creates a StAX reader with DTDs and external entities disabled.
+	 *
+	 * @param reader the XML input
+	 * @return a new stream reader
+	 */
+	public static XMLStreamReader createXMLStreamReader(Reader reader) throws XMLStreamException {
+		return INPUT_FACTORY.createXMLStreamReader(reader);
+	}
+
+	/**
+	 * Reads the qualified name of the document root element, parsing no further than its start tag.
+	 * <p>
+	 * Re-readable bodies (String, byte[], ByteBuffer, stream caches, DOM, local files) are left as they
+	 * are. Any other body is turned into a stream; the bytes consumed while peeking are recorded and replayed
+	 * in front of the remaining stream, which replaces the message body.
+	 *
+	 * @param exchange the exchange whose message body is inspected
+	 * @return the root element name
+	 */
+	public static QName peekRootElement(Exchange exchange) throws Exception {
+		Object body = exchange.getIn().getBody();
+		if (body == null) {
+			throw new IllegalArgumentException("Message body is null, cannot detect RosettaNet message");
+		}
+
+		if (body instanceof Document document) {
+			return nodeName(document.getDocumentElement());
+		}
+		if (body instanceof DOMSource source) {
+			Node node = source.getNode();
+			return nodeName(node instanceof Document document ? document.getDocumentElement() : node);
+		}
+		if (body instanceof Node node) {
+			return nodeName(node);
+		}
+		if (body instanceof XMLStreamReader reader) {
+			return readRootElement(reader);
+		}
+		return peek(exchange, RosettaNetXmlHelper::readRootElement);
+	}
+
+	/**
+	 * Reads the beginning of the message body with StAX without consuming it.
+	 * <p>
+	 * Re-readable bodies (String, byte[], ByteBuffer, stream caches, DOM, local files) are left as they are.
+	 * Any other body is turned into a stream; the bytes consumed by the callback are recorded and replayed in
+	 * front of the remaining stream, which replaces the message body.
+	 *
+	 * @param exchange the exchange whose message body is read
+	 * @param callback reads what it needs from a reader positioned at the start of the document
+	 * @return the result of the callback
+	 */
+	public static <T> T peek(Exchange exchange, StreamReaderCallback<T> callback) throws Exception {
+		Object body = exchange.getIn().getBody();
+		if (body == null) {
+			throw new IllegalArgumentException("Message body is null, cannot read RosettaNet message");
+		}
+
+		if (body instanceof String text) {
+			return readAndClose(createXMLStreamReader(new StringReader(text)), callback);
+		}
+		if (body instanceof byte[] bytes) {
+			return readAndClose(createXMLStreamReader(new ByteArrayInputStream(bytes)), callback);
+		}
+		if (body instanceof ByteBuffer buffer) {
+			return readAndClose(createXMLStreamReader(toInputStream(buffer)), callback);
+		}
+		if (body instanceof StreamCache cache && body instanceof InputStream stream) {
+			cache.reset();
+			try {
+				return readAndClose(createXMLStreamReader(stream), callback);
+			} finally {
+				cache.reset();
+			}
+		}
+
+		// local files are re-readable, keep the file as body so unmarshal can still map it
+		InputStream file = openFile(body, 0);
+		if (file != null) {
+			try {
+				return readAndClose(createXMLStreamReader(file), callback);
+			} finally {
+				IOHelper.close(file);
+			}
+		}
+
+		if (body instanceof Node || body instanceof DOMSource) {
+			// DOM is re-readable, read a serialized copy
+			InputStream stream = exchange.getContext().getTypeConverter().mandatoryConvertTo(InputStream.class, exchange, body);
+			try {
+				return readAndClose(createXMLStreamReader(stream), callback);
+			} finally {
+				IOHelper.close(stream);
+			}
+		}
+
+		InputStream stream = body instanceof InputStream is ? is
+				: exchange.getContext().getTypeConverter().mandatoryConvertTo(InputStream.class, exchange, body);
+		RecordingInputStream recording = new RecordingInputStream(stream);
+		T result = readAndClose(createXMLStreamReader(recording), callback);
+		exchange.getIn().setBody(recording.replay());
+		return result;
+	}
+
+	/**
+	 * Reads from a StAX reader, see {@link RosettaNetXmlHelper#peek(Exchange, StreamReaderCallback)}.
+	 */
+	@FunctionalInterface
+	public interface StreamReaderCallback<T> {
+		T read(XMLStreamReader reader) throws Exception;
+	}
+
+	private static QName readRootElement(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+			if (!reader.hasNext()) {
+				throw new IllegalArgumentException("No root element found in message body");
+			}
+			reader.next();
+		}
+		return reader.getName();
+	}
+
+	private static <T> T readAndClose(XMLStreamReader reader, StreamReaderCallback<T> callback) throws Exception {
+		try {
+			return callback.read(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static QName nodeName(Node node) {
+		if (node == null) {
+			throw new IllegalArgumentException("No root element found in message body");
+		}
+		String localName = node.getLocalName() != null ? node.getLocalName() : node.getNodeName();
+		return new QName(node.getNamespaceURI() != null ? node.getNamespaceURI() : "", localName);
+	}
+
+	/**
+	 * Unmarshals the given body with the most direct input the unmarshaller accepts.
+	 * <p>
+	 * Byte oriented bodies are handed to the XML parser as streams so the encoding declared in the
+	 * document prolog (or its byte order mark) is honored. Stream caches are reset before reading.
+	 * Bodies of other types are converted to an {@link InputStream} using the Camel type converters.
+	 *
+	 * @param unmarshaller the unmarshaller to use
+	 * @param exchange the current exchange, used for type conversion
+	 * @param body the message body
+	 * @return the unmarshalled document, unwrapped from its {@link JAXBElement} if needed
+	 */
+	public static Object unmarshal(Unmarshaller unmarshaller, Exchange exchange, Object body) throws Exception {
+		if (body == null) {
+			throw new IllegalArgumentException("Message body is null, cannot unmarshal");
+		}
+
+		if (body instanceof StreamCache cache) {
+			cache.reset();
+		}
+
+		Object document;
+		if (body instanceof InputStream stream) {
+			document = unmarshaller.unmarshal(stream);
+		} else if (body instanceof byte[] bytes) {
+			document = unmarshaller.unmarshal(new ByteArrayInputStream(bytes));
+		} else if (body instanceof ByteBuffer buffer) {
+			document = unmarshaller.unmarshal(toInputStream(buffer));
+		} else if (body instanceof String text) {
+			document = unmarshaller.unmarshal(new StringReader(text));
+		} else if (body instanceof Reader reader) {
+			document = unmarshaller.unmarshal(reader);
+		} else if (body instanceof XMLStreamReader reader) {
+			document = unmarshaller.unmarshal(reader);
+		} else if (body instanceof Source source) {
+			document = unmarshaller.unmarshal(source);
+		} else if (body instanceof Node node) {
+			document = unmarshaller.unmarshal(node);
+		} else {
+			InputStream stream = exchange.getContext().getTypeConverter().tryConvertTo(InputStream.class, exchange, body);
+			if (stream != null) {
+				try {
+					document = unmarshaller.unmarshal(stream);
+				} finally {
+					IOHelper.close(stream);
+				}
+			} else {
+				String text = exchange.getContext().getTypeConverter().mandatoryConvertTo(String.class, exchange, body);
+				document = unmarshaller.unmarshal(new StringReader(text));
+			}
+		}
+
+		// Handle JAXBElement wrapper
+		if (document instanceof JAXBElement) {
+			document = ((JAXBElement<?>) document).getValue();
+		}
+		return document;
+	}
+
+	/**
+	 * Marshals the document into the requested output representation.
+	 * <ul>
+	 * <li>{@code string} - a {@link String}</li>
+	 * <li>{@code bytes} - a {@code byte[]} in the marshaller encoding, written without an intermediate String</li>
+	 * <li>{@code stream} - a {@link StreamCache} backed by a {@link CachedOutputStream}, which spools to disk
+	 * above the stream caching threshold of the Camel context</li>
+	 * </ul>
+	 *
+	 * @param marshaller the marshaller to use
+	 * @param exchange the current exchange
+	 * @param document the document, already wrapped in its root element if needed
+	 * @param outputType string, bytes or stream
+	 * @param sizeHint expected length used to presize in-memory buffers, characters for string output and bytes otherwise
+	 * @return the marshalled body
+	 */
+	public static Object marshal(Marshaller marshaller, Exchange exchange, Object document, String outputType, int sizeHint)
+			throws Exception {
+		if (RosettaNetConfiguration.OUTPUT_BYTES.equals(outputType)) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(sizeHint, 1024));
+			marshaller.marshal(document, bytes);
+			return bytes.toByteArray();
+		}
+
+		if (RosettaNetConfiguration.OUTPUT_STREAM.equals(outputType)) {
+			CachedOutputStream stream = new CachedOutputStream(exchange);
+			marshaller.marshal(document, stream);
+			return stream.newStreamCache();
+		}
+
+		StringWriter writer = new StringWriter(Math.max(sizeHint, 1024));
+		marshaller.marshal(document, writer);
+		return writer.toString();
+	}
+
+	/**
+	 * Writes a document assembled from parts with StAX, marshalling every part as a fragment, into the
+	 * requested output representation (see {@link #marshal(Marshaller, Exchange, Object, String, int)}).
+	 * Items are consumed one at a time, with {@code stream} output the heap usage stays bounded.
+	 *
+	 * @param marshaller the marshaller to use, switched to fragment mode without validation while writing
+	 * @param exchange the current exchange
+	 * @param document the parts of the document
+	 * @param plan binding plan of the message
+	 * @param outputType string, bytes or stream
+	 * @param encoding the output encoding
+	 * @param fragment whether to omit the XML declaration
+	 * @param sizeHint expected length used to presize in-memory buffers, characters for string output and bytes otherwise
+	 * @return the marshalled body
+	 */
+	public static Object marshal(Marshaller marshaller, Exchange exchange, RosettaNetStreamingDocument document,
+			RosettaNetBindingPlan plan, String outputType, String encoding, boolean fragment, int sizeHint) throws Exception {
+		String charset = encoding != null ? encoding : "UTF-8";
+		Object fragmentSetting = marshaller.getProperty(Marshaller.JAXB_FRAGMENT);
+		Schema schema = marshaller.getSchema();
+		// parts are not complete documents, they cannot be validated on their own
+		marshaller.setSchema(null);
+		marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+		try {
+			if (RosettaNetConfiguration.OUTPUT_BYTES.equals(outputType)) {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(sizeHint, 1024));
+				write(OUTPUT_FACTORY.createXMLStreamWriter(bytes, charset), marshaller, document, plan, charset, fragment);
+				return bytes.toByteArray();
+			}
+
+			if (RosettaNetConfiguration.OUTPUT_STREAM.equals(outputType)) {
+				CachedOutputStream stream = new CachedOutputStream(exchange);
+				write(OUTPUT_FACTORY.createXMLStreamWriter(stream, charset), marshaller, document, plan, charset, fragment);
+				return stream.newStreamCache();
+			}
+
+			StringWriter writer = new StringWriter(Math.max(sizeHint, 1024));
+			write(OUTPUT_FACTORY.createXMLStreamWriter(writer), marshaller, document, plan, charset, fragment);
+			return writer.toString();
+		} finally {
+			marshaller.setProperty(Marshaller.JAXB_FRAGMENT, fragmentSetting);
+			marshaller.setSchema(schema);
+		}
+	}
+
+	private static void write(XMLStreamWriter writer, Marshaller marshaller, RosettaNetStreamingDocument document,
+			RosettaNetBindingPlan plan, String encoding, boolean fragment) throws Exception {
+		try {
+			if (!fragment) {
+				writer.writeStartDocument(encoding, "1.0");
+			}
+			document.writeTo(writer, marshaller, plan);
+			writer.writeEndDocument();
+			writer.flush();
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Opens the body as a byte stream without decoding it, resetting stream caches first.
+	 *
+	 * @param exchange the current exchange, used for type conversion
+	 * @param body the message body
+	 * @return a stream over the body, to be closed by the caller
+	 */
+	public static InputStream toInputStream(Exchange exchange, Object body) throws Exception {
+		if (body == null) {
+			throw new IllegalArgumentException("Message body is null");
+		}
+		if (body instanceof StreamCache cache) {
+			cache.reset();
+		}
+		if (body instanceof InputStream stream) {
+			return stream;
+		}
+		if (body instanceof byte[] bytes) {
+			return new ByteArrayInputStream(bytes);
+		}
+		if (body instanceof ByteBuffer buffer) {
+			return toInputStream(buffer);
+		}
+		return exchange.getContext().getTypeConverter().mandatoryConvertTo(InputStream.class, exchange, body);
+	}
+
+	/**
+	 * Opens a local file body for reading. Files of at least {@code mappedThreshold} bytes are
+	 * memory-mapped and read from the page cache without copying them into the heap; smaller files
+	 * are read through a channel-backed stream.
+	 *
+	 * @param body a {@link File}, {@link Path} or local {@link GenericFile}
+	 * @param mappedThreshold size in bytes from which files are mapped, zero or negative never maps
+	 * @return a stream over the file to be closed by the caller, or {@code null} if the body is not a local file
+	 */
+	public static InputStream openFile(Object body, long mappedThreshold) throws IOException {
+		Path path = toPath(body);
+		if (path == null) {
+			return null;
+		}
+
+		if (mappedThreshold > 0) {
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				long size = channel.size();
+				// a single mapping is limited to 2 GB
+				if (size >= mappedThreshold && size <= Integer.MAX_VALUE) {
+					// the mapping outlives the channel and is released with the buffer
+					return new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+				}
+			}
+		}
+		return Files.newInputStream(path);
+	}
+
+	private static Path toPath(Object body) {
+		if (body instanceof Path path) {
+			return path;
+		}
+		if (body instanceof File file) {
+			return file.toPath();
+		}
+		if (body instanceof GenericFile<?> genericFile && genericFile.getFile() instanceof File file) {
+			return file.toPath();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the size of a body in bytes without reading it. Text bodies count their UTF-8 encoded
+	 * length, so sizes recorded for string and binary documents are comparable.
+	 *
+	 * @param body the message body
+	 * @return the size in bytes, or -1 if unknown without reading
+	 */
+	public static long sizeOf(Object body) {
+		if (body instanceof byte[] bytes) {
+			return bytes.length;
+		}
+		if (body instanceof String text) {
+			return utf8Length(text);
+		}
+		if (body instanceof ByteBuffer buffer) {
+			return buffer.remaining();
+		}
+		if (body instanceof StreamCache cache) {
+			return cache.length();
+		}
+		if (body instanceof File file) {
+			return file.length();
+		}
+		if (body instanceof Path path) {
+			try {
+				return Files.size(path);
+			} catch (IOException e) {
+				return -1;
+			}
+		}
+		if (body instanceof GenericFile<?> genericFile) {
+			return genericFile.getFileLength();
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the number of bytes of the text encoded as UTF-8, counted without encoding it
+	 */
+	static long utf8Length(CharSequence text) {
+		long length = 0;
+		for (int i = 0, n = text.length(); i < n; i++) {
+			char c = text.charAt(i);
+			if (c < 0x80) {
+				length++;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(text.charAt(i + 1))) {
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Exposes the remaining bytes of a buffer as a stream without copying them.
+	 *
+	 * @param buffer the buffer, its position is left untouched
+	 * @return a stream over the remaining bytes
+	 */
+	public static InputStream toInputStream(ByteBuffer buffer) {
+		if (buffer.hasArray()) {
+			return new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		}
+		return new ByteBufferInputStream(buffer.duplicate());
+	}
+
+	/**
+	 * Keeps a copy of every byte read so that a peeked prefix can be replayed.
+	 */
+	private static final class RecordingInputStream extends FilterInputStream {
+		private final ByteArrayOutputStream recorded = new ByteArrayOutputStream(8192);
+
+		RecordingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				recorded.write(b);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException {
+			int count = super.read(bytes, offset, length);
+			if (count > 0) {
+				recorded.write(bytes, offset, count);
+			}
+			return count;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		@Override
+		public void close() {
+			// the underlying stream is handed on by replay()
+		}
+
+		InputStream replay() {
+			return new SequenceInputStream(new ByteArrayInputStream(recorded.toByteArray()), in);
+		}
+	}
+
+	private static final class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, count);
+			return count;
+		}
+
+		@Override
+		public long skip(long n) {
+			int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+			buffer.position(buffer.position() + count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+
+}
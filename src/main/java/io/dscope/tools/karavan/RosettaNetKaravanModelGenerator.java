@@ -1,7 +1,6 @@
 package io.dscope.tools.karavan;
 
 import java.io.File;
-import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -12,13 +11,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -26,6 +18,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlElementRef;
 
+import io.dscope.camel.rosettanet.RosettaNetDictionaryIndex;
+
 /**
  * Generates Karavan model metadata for JAXB classes under io.dscope.rosettanet.interchange.
  * Emits one JSON file per *RequestType/*ResponseType into karavan/metadata/model.
@@ -142,48 +136,33 @@ public class RosettaNetKaravanModelGenerator {
     }
     
     /**
-     * Load message definitions from RosettaNet_Dictionary.xml in the classpath.
-     * For each <message> element, extracts name, package, type (PIP), and version,
+     * Load message definitions from the shared RosettaNet dictionary index.
+     * For each message entry, takes name, package, type (PIP), and version,
      * then constructs the fully qualified class name.
      */
     private static List<MessageDefinition> loadMessageDefinitions() {
         List<MessageDefinition> definitions = new ArrayList<>();
         
-        try (InputStream is = RosettaNetKaravanModelGenerator.class.getResourceAsStream("/RosettaNet_Dictionary.xml")) {
-            if (is == null) {
-                System.err.println("ERROR: Could not find RosettaNet_Dictionary.xml in classpath");
-                return definitions;
-            }
+        try {
+            RosettaNetDictionaryIndex index = RosettaNetDictionaryIndex.load();
             
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(is);
-            
-            NodeList messages = doc.getElementsByTagName("message");
-            for (int i = 0; i < messages.getLength(); i++) {
-                Element message = (Element) messages.item(i);
-                String name = message.getAttribute("name");         // e.g., "PurchaseOrderRequest"
-                String packageName = message.getAttribute("package"); // e.g., "io.dscope.rosettanet.interchange.purchaseorderrequest.v02_05"
-                String pipType = message.getAttribute("type");       // e.g., "PIP3A4"
-                String version = message.getAttribute("version");    // e.g., "02_05"
+            for (RosettaNetDictionaryIndex.Entry entry : index.getEntries()) {
+                String name = entry.getName();               // e.g., "PurchaseOrderRequest"
+                String packageName = entry.getPackageName(); // e.g., "io.dscope.rosettanet.interchange.purchaseorderrequest.v02_05"
+                String pipType = entry.getPipType();         // e.g., "PIP3A4"
+                String version = entry.getVersion();         // e.g., "02_05"
                 
-                if (name != null && !name.isEmpty() && 
-                    packageName != null && !packageName.isEmpty() &&
-                    pipType != null && !pipType.isEmpty() &&
-                    version != null && !version.isEmpty()) {
-                    
-                    // Extract message type from package (part after "interchange")
-                    String messageType = extractMessageType(packageName);
-                    
-                    // Extract PIP code from type (e.g., "PIP3A4" -> "3A4")
-                    String pipCode = pipType.startsWith("PIP") ? pipType.substring(3) : pipType;
-                    
-                    // Construct fully qualified class name: package + "." + name + "Type"
-                    String qualifiedClassName = packageName + "." + name + "Type";
-                    
-                    definitions.add(new MessageDefinition(name, packageName, qualifiedClassName, 
-                                                         pipCode, version, messageType));
-                }
+                // Extract message type from package (part after "interchange")
+                String messageType = extractMessageType(packageName);
+                
+                // Extract PIP code from type (e.g., "PIP3A4" -> "3A4")
+                String pipCode = pipType.startsWith("PIP") ? pipType.substring(3) : pipType;
+                
+                // Construct fully qualified class name: package + "." + name + "Type"
+                String qualifiedClassName = packageName + "." + name + "Type";
+                
+                definitions.add(new MessageDefinition(name, packageName, qualifiedClassName, 
+                                                     pipCode, version, messageType));
             }
             
         } catch (Exception e) {
@@ -0,0 +1,158 @@
+package io.dscope.tools.nativeimage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import javax.xml.namespace.QName;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+
+import io.dscope.camel.rosettanet.RosettaNetContextRegistry;
+import io.dscope.camel.rosettanet.RosettaNetDictionaryIndex;
+import io.dscope.rosettanet.dictionary.RosettaNetDictionary;
+import io.dscope.rosettanet.dictionary.RosettaNetDictionary.MessageDefinition;
+
+/**
+ * Generates ahead-of-time metadata for all messages of RosettaNet_Dictionary.xml:
+ * <ul>
+ * <li>META-INF/rosettanet/messages.idx, the dictionary index with context paths and root elements,
+ * read by {@link RosettaNetDictionaryIndex#load()} instead of parsing the dictionary and loading classes</li>
+ * <li>META-INF/rosettanet/classes/PIP_version.list, the JAXB classes bound per PIP version</li>
+ * <li>GraalVM reflect-config.json and resource-config.json under META-INF/native-image</li>
+ * </ul>
+ */
+public class RosettaNetMetadataGenerator {
+
+    private static final String INDEX_FILE = "src/main/resources" + RosettaNetDictionaryIndex.GENERATED_INDEX_RESOURCE;
+    private static final String CLASSES_DIR = "src/main/resources/META-INF/rosettanet/classes";
+    private static final String NATIVE_IMAGE_DIR = "src/main/resources/META-INF/native-image/io.dscope/dscope-camel-rosettanet";
+
+    public static void main(String[] args) throws Exception {
+        // always index the dictionary itself, never a previously generated index
+        RosettaNetDictionaryIndex index;
+        try (InputStream is = RosettaNetDictionaryIndex.class.getResourceAsStream(RosettaNetDictionaryIndex.DICTIONARY_RESOURCE)) {
+            index = RosettaNetDictionaryIndex.load(is);
+        }
+        RosettaNetContextRegistry registry = new RosettaNetContextRegistry();
+        System.out.println("Loaded " + index.getEntries().size() + " message definitions from RosettaNet_Dictionary.xml\n");
+
+        // "PIP3A4_02_05" -> packages bound by the messages of that PIP version
+        Map<String, Set<String>> packagesByPip = new TreeMap<>();
+        Set<String> resources = new TreeSet<>();
+        resources.add(Pattern.quote(RosettaNetDictionaryIndex.DICTIONARY_RESOURCE.substring(1)));
+        resources.add(Pattern.quote("META-INF/rosettanet/") + ".*");
+
+        int indexedCount = 0;
+        int skippedCount = 0;
+
+        new File(INDEX_FILE).getParentFile().mkdirs();
+        try (PrintWriter out = new PrintWriter(new File(INDEX_FILE), StandardCharsets.UTF_8)) {
+            out.println("# pipType\tversion\tname\tpackage\tcontextPath\trootNamespace\trootLocalName");
+            for (RosettaNetDictionaryIndex.Entry entry : index.getEntries()) {
+                Optional<MessageDefinition> definition = RosettaNetDictionary.findMessage(entry.getPipType(), entry.getVersion(), entry.getName());
+                QName rootElement = entry.getRootElement();
+                if (definition.isEmpty() || rootElement == null) {
+                    // root class missing from the classpath, the runtime falls back to the dictionary for it
+                    skippedCount++;
+                    continue;
+                }
+
+                String contextPath = registry.getContextPath(definition.get());
+                out.println(String.join("\t", entry.getPipType(), entry.getVersion(), entry.getName(), entry.getPackageName(),
+                        contextPath, rootElement.getNamespaceURI(), rootElement.getLocalPart()));
+                indexedCount++;
+
+                Set<String> packages = packagesByPip.computeIfAbsent(entry.getPipType() + "_" + entry.getVersion(), k -> new TreeSet<>());
+                for (String packageName : contextPath.split(":")) {
+                    packages.add(packageName.trim());
+                }
+                resources.add(Pattern.quote(resourceName(String.valueOf(definition.get().getProperties()))));
+            }
+        }
+        System.out.println("Wrote " + INDEX_FILE + " (" + indexedCount + " messages, " + skippedCount + " skipped)");
+
+        Set<String> allClasses = new TreeSet<>();
+        new File(CLASSES_DIR).mkdirs();
+        for (Map.Entry<String, Set<String>> pip : packagesByPip.entrySet()) {
+            Set<String> classes = scanClasses(pip.getValue());
+            allClasses.addAll(classes);
+            writeLines(new File(CLASSES_DIR, pip.getKey() + ".list"), classes);
+        }
+        System.out.println("Wrote " + packagesByPip.size() + " class lists to " + CLASSES_DIR);
+
+        // ObjectFactory and jaxb.index lookups of JAXBContext.newInstance(contextPath)
+        resources.add(".*/jaxb\\.properties");
+        resources.add(".*/jaxb\\.index");
+
+        new File(NATIVE_IMAGE_DIR).mkdirs();
+        writeReflectConfig(new File(NATIVE_IMAGE_DIR, "reflect-config.json"), allClasses);
+        writeResourceConfig(new File(NATIVE_IMAGE_DIR, "resource-config.json"), resources);
+        System.out.println("Wrote GraalVM configuration for " + allClasses.size() + " classes to " + NATIVE_IMAGE_DIR);
+    }
+
+    /**
+     * Lists the top level and nested classes of the given packages, without loading them.
+     */
+    private static Set<String> scanClasses(Set<String> packages) {
+        Set<String> classes = new TreeSet<>();
+        try (ScanResult scan = new ClassGraph().acceptPackagesNonRecursive(packages.toArray(new String[0])).enableClassInfo().scan()) {
+            for (ClassInfo classInfo : scan.getAllClasses()) {
+                classes.add(classInfo.getName());
+            }
+        }
+        return classes;
+    }
+
+    private static void writeReflectConfig(File file, Set<String> classes) throws IOException {
+        try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            out.println("[");
+            int i = 0;
+            for (String name : classes) {
+                out.print("  { \"name\": \"" + name + "\", \"allDeclaredConstructors\": true, \"allDeclaredFields\": true, \"allDeclaredMethods\": true }");
+                out.println(++i < classes.size() ? "," : "");
+            }
+            out.println("]");
+        }
+    }
+
+    private static void writeResourceConfig(File file, Set<String> patterns) throws IOException {
+        try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            out.println("{");
+            out.println("  \"resources\": {");
+            out.println("    \"includes\": [");
+            int i = 0;
+            for (String pattern : patterns) {
+                out.print("      { \"pattern\": \"" + pattern.replace("\\", "\\\\") + "\" }");
+                out.println(++i < patterns.size() ? "," : "");
+            }
+            out.println("    ]");
+            out.println("  }");
+            out.println("}");
+        }
+    }
+
+    private static void writeLines(File file, Set<String> lines) throws IOException {
+        try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            lines.forEach(out::println);
+        }
+    }
+
+    /**
+     * Converts a classpath location to a resource name, e.g. "/io/dscope/x.properties" -> "io/dscope/x.properties".
+     */
+    private static String resourceName(String location) {
+        String name = location.startsWith("classpath:") ? location.substring("classpath:".length()) : location;
+        return name.startsWith("/") ? name.substring(1) : name;
+    }
+}
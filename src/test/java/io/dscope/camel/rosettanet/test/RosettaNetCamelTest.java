@@ -16,17 +16,66 @@
 
 package io.dscope.camel.rosettanet.test;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.dom.DOMSource;
+
+import jakarta.xml.bind.Unmarshaller;
+
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
 import org.apache.camel.ProducerTemplate;
+import org.apache.camel.StreamCache;
+import org.apache.camel.builder.NotifyBuilder;
+import org.apache.camel.builder.PredicateBuilder;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.converter.stream.InputStreamCache;
+import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.test.junit5.CamelTestSupport;
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import io.dscope.camel.rosettanet.RosettaNet;
+import io.dscope.camel.rosettanet.RosettaNetBatchResult;
+import io.dscope.camel.rosettanet.RosettaNetBindingPlan;
+import io.dscope.camel.rosettanet.RosettaNetComponent;
+import io.dscope.camel.rosettanet.RosettaNetConfiguration;
+import io.dscope.camel.rosettanet.RosettaNetContextRegistry;
+import io.dscope.camel.rosettanet.RosettaNetDataFormat;
+import io.dscope.camel.rosettanet.RosettaNetEndpoint;
+import io.dscope.camel.rosettanet.RosettaNetHeaderScanner;
+import io.dscope.camel.rosettanet.RosettaNetMarshallerPool;
+import io.dscope.camel.rosettanet.RosettaNetPayloadLogger;
+import io.dscope.camel.rosettanet.RosettaNetStatistics;
+import io.dscope.camel.rosettanet.RosettaNetStreamingDocument;
+import io.dscope.camel.rosettanet.RosettaNetValidationException;
+import io.dscope.camel.rosettanet.RosettaNetXmlHelper;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class RosettaNetCamelTest extends CamelTestSupport {
 
+	static final Path SAMPLE_PURCHASE_ORDER = Path.of("samples/yaml-pip3a4-sample/data/input/sample-purchase-order.xml");
+
+	static final Path INBOX = Path.of("target/rosettanet-inbox");
+
 	@Override
 	protected RouteBuilder createRouteBuilder() throws Exception {
 		return new RouteBuilder() {
@@ -37,6 +86,66 @@ public class RosettaNetCamelTest extends CamelTestSupport {
 					.to("rosettanet:unmarshal?pipType=PIP3A4&version=02_05")
 					.to("mock:result");
 				
+				// Test route detecting the message from the document root element
+				from("direct:autoDetect")
+					.to("rosettanet:unmarshal?autoDetect=true")
+					.to("mock:result");
+				
+				// Test route streaming the line items of a purchase order
+				from("direct:split")
+					.to("rosettanet:split?pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest")
+					.split(body()).streaming()
+						.to("mock:items");
+				
+				// Test route unmarshalling a batch of messages
+				from("direct:batch")
+					.to("rosettanet:unmarshal?pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest&batch=true");
+				
+				// Test route consuming RosettaNet files from a directory
+				from("rosettanet:unmarshal?directory=" + INBOX + "&pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest&delay=100")
+					.to("mock:inbox");
+				
+				// Test route validating unmarshalled messages
+				from("direct:validate")
+					.to("rosettanet:unmarshal?pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest&validate=inbound");
+				
+				// Test route unmarshalling off the calling thread
+				from("direct:async")
+					.to("rosettanet:unmarshal?pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest&asyncExecution=true")
+					.process(e -> e.getMessage().setHeader("virtualThread", Thread.currentThread().isVirtual()));
+				
+				// Test route round-tripping through the data format
+				RosettaNetDataFormat rosettanet = new RosettaNetDataFormat();
+				rosettanet.setAutoDetect(true);
+				from("direct:dataFormat")
+					.unmarshal(rosettanet)
+					.marshal(rosettanet)
+					.convertBodyTo(String.class);
+				
+				// Test route marshalling a fragment through the data format
+				RosettaNetDataFormat fragment = new RosettaNetDataFormat();
+				fragment.setPipType("PIP3A4");
+				fragment.setVersion("02_05");
+				fragment.setMessageName("PurchaseOrderRequest");
+				fragment.setFragment(true);
+				fragment.setPoolIdleTimeout(0);
+				from("direct:dataFormatFragment")
+					.unmarshal(fragment)
+					.marshal(fragment)
+					.convertBodyTo(String.class);
+				
+				// Test route reading routing headers without unmarshalling
+				from("direct:extractHeaders")
+					.to("rosettanet:extractHeaders?autoDetect=true");
+				
+				// Test route choosing a partner flow without unmarshalling
+				from("direct:route")
+					.choice()
+						.when(PredicateBuilder.and(RosettaNet.pip().isEqualTo("PIP3A4"), RosettaNet.senderId().isEqualTo("String")))
+							.setHeader("partnerFlow", constant("acme"))
+						.otherwise()
+							.setHeader("partnerFlow", constant("default"));
+				
 				// Test route for marshalling RosettaNet messages
 				from("direct:marshal")
 					.to("rosettanet:marshal?pipType=PIP3A4&version=02_05")
@@ -61,4 +170,470 @@ public class RosettaNetCamelTest extends CamelTestSupport {
 		assertNotNull(context.getEndpoint("rosettanet:unmarshal?pipType=PIP3A4"));
 		assertNotNull(context.getEndpoint("rosettanet:marshal?pipType=PIP3A4"));
 	}
+	
+	@Test
+	public void testContextRegistryReusesContext() throws Exception {
+		String xml = Files.readString(SAMPLE_PURCHASE_ORDER);
+		ProducerTemplate template = context.createProducerTemplate();
+
+		// forget the plans resolved by the other test routes at startup
+		RosettaNetContextRegistry registry = context.getComponent("rosettanet", RosettaNetComponent.class).getContextRegistry();
+		registry.clear();
+		registry.resetStatistics();
+
+		template.requestBody("direct:unmarshal", xml);
+		template.requestBody("direct:unmarshal", xml);
+
+		assertEquals(1, registry.getSize());
+		assertEquals(1, registry.getMisses());
+		assertEquals(1, registry.getHits());
+	}
+	
+	@Test
+	public void testMarshallerPoolReusesBoundedInstances() throws Exception {
+		RosettaNetBindingPlan plan = new RosettaNetContextRegistry().getPlan("PIP3A4", "02_05", "PurchaseOrderRequest");
+		RosettaNetMarshallerPool pool = new RosettaNetMarshallerPool(plan.getContext(), RosettaNetConfiguration.POOL_BOUNDED,
+				2, 0, Map.of());
+
+		Unmarshaller first = pool.acquireUnmarshaller();
+		pool.releaseUnmarshaller(first);
+		assertSame(first, pool.acquireUnmarshaller());
+		assertEquals(1, pool.getCreated());
+		assertEquals(1, pool.getReused());
+
+		// only maxSize instances are kept idle, the extra one is dropped on release
+		Unmarshaller second = pool.acquireUnmarshaller();
+		Unmarshaller third = pool.acquireUnmarshaller();
+		pool.releaseUnmarshaller(first);
+		pool.releaseUnmarshaller(second);
+		pool.releaseUnmarshaller(third);
+		assertEquals(3, pool.getCreated());
+		assertEquals(2, pool.getIdle());
+	}
+	
+	@Test
+	public void testEndpointReusesPooledUnmarshallers() throws Exception {
+		String xml = Files.readString(SAMPLE_PURCHASE_ORDER);
+		ProducerTemplate template = context.createProducerTemplate();
+		RosettaNetEndpoint endpoint = context.getEndpoint(
+				"rosettanet:unmarshal?pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest&validate=inbound",
+				RosettaNetEndpoint.class);
+		long created = endpoint.getPoolCreated();
+		long reused = endpoint.getPoolReused();
+
+		template.requestBody("direct:validate", xml);
+		template.requestBody("direct:validate", xml);
+
+		assertEquals(1, endpoint.getPoolCount());
+		assertTrue(endpoint.getPoolCreated() - created <= 1);
+		assertTrue(endpoint.getPoolReused() - reused >= 1);
+		assertTrue(endpoint.getPoolIdle() >= 1);
+	}
+	
+	@Test
+	public void testRootClassContextMode() throws Exception {
+		RosettaNetContextRegistry registry = new RosettaNetContextRegistry();
+		registry.setContextMode("rootClass");
+
+		RosettaNetBindingPlan plan = registry.getPlan("PIP3A4", "02_05", "PurchaseOrderRequest");
+
+		assertNotNull(plan.getContext().createUnmarshaller().unmarshal(SAMPLE_PURCHASE_ORDER.toFile()));
+		assertTrue(registry.dumpContexts().startsWith("class:" + plan.getRootClass().getName()));
+		assertTrue(registry.getBoundNamespaceCount() > 0);
+	}
+	
+	@Test
+	public void testMappedFileUnmarshal() throws Exception {
+		ProducerTemplate template = context.createProducerTemplate();
+
+		Exchange exchange = template.request("rosettanet:unmarshal?pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest&mappedFileThreshold=1",
+				e -> e.getIn().setBody(SAMPLE_PURCHASE_ORDER.toFile()));
+
+		assertNull(exchange.getException());
+		assertEquals("PurchaseOrderRequest", exchange.getMessage().getHeader("messageName"));
+		assertFalse(exchange.getMessage().getBody() instanceof File);
+	}
+	
+	@Test
+	public void testAutoDetectKeepsFileBodyForMapping() throws Exception {
+		Exchange peeked = new DefaultExchange(context);
+		peeked.getIn().setBody(SAMPLE_PURCHASE_ORDER.toFile());
+		assertEquals("PurchaseOrderRequest", RosettaNetXmlHelper.peekRootElement(peeked).getLocalPart());
+		// still a file, so unmarshal maps it instead of reading a replayed stream
+		assertInstanceOf(File.class, peeked.getIn().getBody());
+
+		Exchange exchange = context.createProducerTemplate().request("rosettanet:unmarshal?autoDetect=true&mappedFileThreshold=1",
+				e -> e.getIn().setBody(SAMPLE_PURCHASE_ORDER.toFile()));
+
+		assertNull(exchange.getException());
+		assertEquals("PurchaseOrderRequest", exchange.getMessage().getHeader("messageName"));
+		assertFalse(exchange.getMessage().getBody() instanceof File);
+	}
+	
+	@Test
+	public void testAutoDetectFromRootElement() throws Exception {
+		ProducerTemplate template = context.createProducerTemplate();
+
+		Exchange exchange = template.request("direct:autoDetect",
+				e -> e.getIn().setBody(Files.newInputStream(SAMPLE_PURCHASE_ORDER)));
+
+		assertNull(exchange.getException());
+		assertEquals("PIP3A4", exchange.getMessage().getHeader("pipType"));
+		assertEquals("02_05", exchange.getMessage().getHeader("version"));
+		assertEquals("PurchaseOrderRequest", exchange.getMessage().getHeader("messageName"));
+		assertFalse(exchange.getMessage().getBody() instanceof String);
+	}
+	
+	@Test
+	public void testUnmarshalAcceptsBodyTypes() throws Exception {
+		byte[] bytes = Files.readAllBytes(SAMPLE_PURCHASE_ORDER);
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(bytes));
+		Class<?> rootClass = context.getComponent("rosettanet", RosettaNetComponent.class).getContextRegistry()
+				.getPlan("PIP3A4", "02_05", "PurchaseOrderRequest").getRootClass();
+		ProducerTemplate template = context.createProducerTemplate();
+
+		for (Object body : List.of(bytes, new ByteArrayInputStream(bytes), document, new DOMSource(document),
+				new InputStreamCache(bytes))) {
+			Exchange exchange = template.request("direct:unmarshal", e -> e.getIn().setBody(body));
+
+			assertNull(exchange.getException(), body.getClass().getName());
+			assertInstanceOf(rootClass, exchange.getMessage().getBody(), body.getClass().getName());
+		}
+	}
+	
+	@Test
+	public void testPeekReplaysConsumedStream() throws Exception {
+		byte[] bytes = Files.readAllBytes(SAMPLE_PURCHASE_ORDER);
+		// neither a stream cache nor resettable, peeking has to record what it reads
+		InputStream stream = new SequenceInputStream(new ByteArrayInputStream(bytes), InputStream.nullInputStream());
+		Exchange exchange = new DefaultExchange(context);
+		exchange.getIn().setBody(stream);
+
+		QName rootElement = RosettaNetXmlHelper.peekRootElement(exchange);
+
+		assertEquals("PurchaseOrderRequest", rootElement.getLocalPart());
+		assertNotSame(stream, exchange.getIn().getBody());
+		try (InputStream replay = exchange.getIn().getBody(InputStream.class)) {
+			assertArrayEquals(bytes, replay.readAllBytes());
+		}
+	}
+	
+	@Test
+	public void testConsumerRequiresDirectoryPoll() throws Exception {
+		assertThrows(IllegalArgumentException.class,
+				() -> context.getEndpoint("rosettanet:unmarshal?pipType=PIP3A4").createConsumer(exchange -> { }));
+		assertThrows(IllegalArgumentException.class,
+				() -> context.getEndpoint("rosettanet:marshal?directory=" + INBOX).createConsumer(exchange -> { }));
+	}
+	
+	@Test
+	public void testConsumerUnmarshalsPolledFiles() throws Exception {
+		MockEndpoint inbox = getMockEndpoint("mock:inbox");
+		inbox.expectedMinimumMessageCount(1);
+		inbox.expectedHeaderReceived("messageName", "PurchaseOrderRequest");
+		inbox.expectedHeaderReceived(Exchange.FILE_NAME, "po.xml");
+
+		// the file is moved before the exchange is reported done
+		NotifyBuilder notify = new NotifyBuilder(context).from("rosettanet:unmarshal*").whenDone(1).create();
+
+		// dot files are ignored by the consumer, so the copy is only picked up once renamed
+		Path copy = Files.copy(SAMPLE_PURCHASE_ORDER, INBOX.resolve(".po.xml"), StandardCopyOption.REPLACE_EXISTING);
+		Files.move(copy, INBOX.resolve("po.xml"), StandardCopyOption.REPLACE_EXISTING);
+
+		assertTrue(notify.matches(10, TimeUnit.SECONDS));
+		inbox.assertIsSatisfied();
+		assertFalse(inbox.getReceivedExchanges().get(0).getMessage().getBody() instanceof String);
+		assertTrue(Files.exists(INBOX.resolve(".done").resolve("po.xml")));
+	}
+	
+	@Test
+	public void testBatchCapturesFailuresPerDocument() throws Exception {
+		String xml = Files.readString(SAMPLE_PURCHASE_ORDER);
+		ProducerTemplate template = context.createProducerTemplate();
+
+		Exchange exchange = template.request("direct:batch",
+				e -> e.getIn().setBody(List.of(xml, "<notXml", SAMPLE_PURCHASE_ORDER)));
+
+		assertNull(exchange.getException());
+		List<?> results = exchange.getMessage().getBody(List.class);
+		assertEquals(3, results.size());
+		assertEquals(1, exchange.getMessage().getHeader("batchFailures"));
+
+		RosettaNetBatchResult failed = (RosettaNetBatchResult) results.get(1);
+		assertEquals(1, failed.getIndex());
+		assertTrue(failed.isFailed());
+		assertFalse(((RosettaNetBatchResult) results.get(0)).isFailed());
+		assertFalse(((RosettaNetBatchResult) results.get(2)).getBody() instanceof String);
+	}
+	
+	@Test
+	public void testBatchErrorFailsExchange() throws Exception {
+		String xml = Files.readString(SAMPLE_PURCHASE_ORDER);
+		InputStream broken = new InputStream() {
+			@Override
+			public int read() {
+				throw new LinkageError("broken document");
+			}
+		};
+
+		Exchange exchange = context.createProducerTemplate().request("direct:batch",
+				e -> e.getIn().setBody(Stream.of(xml, broken, xml)));
+
+		assertInstanceOf(LinkageError.class, exchange.getException());
+	}
+	
+	@Test
+	public void testBatchFailsWhenBodyCannotBeRead() throws Exception {
+		String xml = Files.readString(SAMPLE_PURCHASE_ORDER);
+		Stream<String> body = Stream.of(xml, "").map(document -> {
+			if (document.isEmpty()) {
+				throw new IllegalStateException("broken source");
+			}
+			return document;
+		});
+
+		Exchange exchange = context.createProducerTemplate().request("direct:batch", e -> e.getIn().setBody(body));
+
+		assertInstanceOf(IllegalStateException.class, exchange.getException());
+		assertNull(exchange.getMessage().getHeader("batchSize"));
+	}
+	
+	@Test
+	public void testSplitStreamsLineItems() throws Exception {
+		MockEndpoint items = getMockEndpoint("mock:items");
+		items.expectedMessageCount(1);
+		items.message(0).header("documentHeader").isNotNull();
+		items.message(0).body().isNotNull();
+
+		ProducerTemplate template = context.createProducerTemplate();
+		template.sendBody("direct:split", Files.newInputStream(SAMPLE_PURCHASE_ORDER));
+
+		items.assertIsSatisfied();
+		Object item = items.getReceivedExchanges().get(0).getMessage().getBody();
+		assertTrue(item.getClass().getSimpleName().startsWith("ProductLineItem"));
+	}
+	
+	@Test
+	public void testStreamingDocumentRoundTrip() throws Exception {
+		String split = "rosettanet:split?pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest";
+		ProducerTemplate template = context.createProducerTemplate();
+
+		Exchange source = template.request(split, e -> e.getIn().setBody(Files.readAllBytes(SAMPLE_PURCHASE_ORDER)));
+		Object header = source.getMessage().getHeader("documentHeader");
+		Object lineItem = ((Iterator<?>) source.getMessage().getBody()).next();
+
+		RosettaNetStreamingDocument document = new RosettaNetStreamingDocument()
+				.element("DocumentHeader", header)
+				.startElement("PurchaseOrder")
+				.items("ProductLineItem", Stream.of(lineItem, lineItem, lineItem))
+				.endElement();
+		String xml = template.requestBody("rosettanet:marshal?pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest",
+				document, String.class);
+
+		Exchange result = template.request(split, e -> e.getIn().setBody(xml));
+		assertNotNull(result.getMessage().getHeader("documentHeader"));
+		Iterator<?> items = (Iterator<?>) result.getMessage().getBody();
+		int count = 0;
+		while (items.hasNext()) {
+			assertNotNull(items.next());
+			count++;
+		}
+		assertEquals(3, count);
+	}
+	
+	@Test
+	public void testAsyncExecutionOffloadsCaller() throws Exception {
+		String xml = Files.readString(SAMPLE_PURCHASE_ORDER);
+		ProducerTemplate template = context.createProducerTemplate();
+
+		Exchange exchange = template.request("direct:async", e -> e.getIn().setBody(xml));
+
+		assertNull(exchange.getException());
+		assertEquals("PurchaseOrderRequest", exchange.getMessage().getHeader("messageName"));
+		assertEquals(Boolean.TRUE, exchange.getMessage().getHeader("virtualThread"));
+	}
+	
+	@Test
+	public void testMarshalOutputTypes() throws Exception {
+		ProducerTemplate template = context.createProducerTemplate();
+		Object document = template.requestBody("direct:unmarshal", Files.readString(SAMPLE_PURCHASE_ORDER));
+		String uri = "rosettanet:marshal?pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest&outputType=";
+
+		Object bytes = template.request(uri + "bytes", e -> e.getIn().setBody(document)).getMessage().getBody();
+		assertInstanceOf(byte[].class, bytes);
+
+		Object stream = template.request(uri + "stream", e -> e.getIn().setBody(document)).getMessage().getBody();
+		assertInstanceOf(InputStream.class, stream);
+		assertInstanceOf(StreamCache.class, stream);
+		assertArrayEquals((byte[]) bytes, ((InputStream) stream).readAllBytes());
+	}
+	
+	@Test
+	public void testMarshalIsCompactUnlessPrettyPrint() throws Exception {
+		ProducerTemplate template = context.createProducerTemplate();
+		Object document = template.requestBody("direct:unmarshal", Files.readString(SAMPLE_PURCHASE_ORDER));
+		String uri = "rosettanet:marshal?pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest";
+
+		String compact = template.requestBody(uri, document, String.class);
+		String pretty = template.requestBody(uri + "&prettyPrint=true", document, String.class);
+
+		assertFalse(compact.contains(">\n"));
+		assertTrue(pretty.contains(">\n    <"));
+		assertTrue(compact.length() < pretty.length());
+	}
+	
+	@Test
+	public void testTypeConverterRoundTrip() throws Exception {
+		String xml = Files.readString(SAMPLE_PURCHASE_ORDER);
+		Object document = context.createProducerTemplate().requestBody("direct:unmarshal", xml);
+
+		byte[] bytes = context.getTypeConverter().mandatoryConvertTo(byte[].class, document);
+		Object converted = context.getTypeConverter().mandatoryConvertTo(document.getClass(), bytes);
+
+		assertEquals(document.getClass(), converted.getClass());
+		assertEquals(new String(bytes, "UTF-8"), context.getTypeConverter().convertTo(String.class, converted));
+	}
+	
+	@Test
+	public void testDataFormatRoundTrip() throws Exception {
+		ProducerTemplate template = context.createProducerTemplate();
+
+		Exchange exchange = template.request("direct:dataFormat",
+				e -> e.getIn().setBody(Files.newInputStream(SAMPLE_PURCHASE_ORDER)));
+
+		assertNull(exchange.getException());
+		assertEquals("PurchaseOrderRequest", exchange.getMessage().getHeader("messageName"));
+		assertTrue(exchange.getMessage().getBody(String.class).contains("PurchaseOrder"));
+	}
+	
+	@Test
+	public void testDataFormatAppliesMarshallerOptions() throws Exception {
+		ProducerTemplate template = context.createProducerTemplate();
+
+		String xml = template.requestBody("direct:dataFormatFragment", Files.readString(SAMPLE_PURCHASE_ORDER), String.class);
+
+		assertTrue(xml.contains("PurchaseOrder"));
+		assertFalse(xml.startsWith("<?xml"));
+	}
+	
+	@Test
+	public void testInboundValidationReportsPosition() throws Exception {
+		String xml = Files.readString(SAMPLE_PURCHASE_ORDER);
+		ProducerTemplate template = context.createProducerTemplate();
+
+		Exchange valid = template.request("direct:validate", e -> e.getIn().setBody(xml));
+		assertNull(valid.getException());
+
+		String invalid = xml.replaceFirst("<PurchaseOrder>", "<PurchaseOrder><UnknownElement/>");
+		Exchange exchange = template.request("direct:validate", e -> e.getIn().setBody(invalid));
+
+		RosettaNetValidationException error = assertInstanceOf(RosettaNetValidationException.class, exchange.getException());
+		assertEquals("inbound", error.getDirection());
+		assertTrue(error.getLineNumber() > 0);
+	}
+	
+	@Test
+	public void testExtractHeadersKeepsStreamReadable() throws Exception {
+		ProducerTemplate template = context.createProducerTemplate();
+
+		Exchange exchange = template.request("direct:extractHeaders",
+				e -> e.getIn().setBody(Files.newInputStream(SAMPLE_PURCHASE_ORDER)));
+
+		assertNull(exchange.getException());
+		assertEquals("PurchaseOrderRequest", exchange.getMessage().getHeader("messageName"));
+		assertEquals("String", exchange.getMessage().getHeader("documentIdentifier"));
+		assertEquals("String", exchange.getMessage().getHeader("senderId"));
+		assertEquals(Files.readString(SAMPLE_PURCHASE_ORDER), exchange.getMessage().getBody(String.class));
+	}
+	
+	@Test
+	public void testRoutingExpressions() throws Exception {
+		ProducerTemplate template = context.createProducerTemplate();
+
+		Exchange exchange = template.request("direct:route",
+				e -> e.getIn().setBody(Files.newInputStream(SAMPLE_PURCHASE_ORDER)));
+
+		assertNull(exchange.getException());
+		assertEquals("acme", exchange.getMessage().getHeader("partnerFlow"));
+		assertNotNull(exchange.getProperty(RosettaNet.ROUTING_KEYS_PROPERTY));
+		assertEquals("02_05", RosettaNet.version().evaluate(exchange, String.class));
+		assertEquals("String", RosettaNet.path("DocumentHeader/Receiver/PartnerIdentification/AlternativeIdentifier/Identifier").evaluate(exchange, String.class));
+		assertEquals(Files.readString(SAMPLE_PURCHASE_ORDER), exchange.getMessage().getBody(String.class));
+	}
+	
+	@Test
+	public void testHeaderScannerSkipsNonLeafPath() throws Exception {
+		RosettaNetHeaderScanner scanner = new RosettaNetHeaderScanner("sender=DocumentHeader/Sender,"
+				+ "senderId=DocumentHeader/Sender/PartnerIdentification/AlternativeIdentifier/Identifier");
+
+		Map<String, String> values;
+		try (InputStream stream = Files.newInputStream(SAMPLE_PURCHASE_ORDER)) {
+			values = scanner.scan(RosettaNetXmlHelper.createXMLStreamReader(stream));
+		}
+
+		assertFalse(values.containsKey("sender"));
+		assertEquals("String", values.get("senderId"));
+	}
+	
+	@Test
+	public void testHeaderScannerStopsAfterHeaderForMissingPath() throws Exception {
+		RosettaNetHeaderScanner scanner = new RosettaNetHeaderScanner("missing=DocumentHeader/Missing/Identifier,"
+				+ "senderId=DocumentHeader/Sender/PartnerIdentification/AlternativeIdentifier/Identifier");
+
+		try (InputStream stream = Files.newInputStream(SAMPLE_PURCHASE_ORDER)) {
+			XMLStreamReader reader = RosettaNetXmlHelper.createXMLStreamReader(stream);
+			Map<String, String> values = scanner.scan(reader);
+
+			assertEquals(Map.of("senderId", "String"), values);
+			// the body after the document header is not read
+			assertTrue(reader.isStartElement());
+			assertEquals("PurchaseOrder", reader.getLocalName());
+		}
+	}
+	
+	@Test
+	public void testPayloadLoggingTruncatesSamplesAndRedacts() throws Exception {
+		List<String> excerpts = new ArrayList<>();
+		List<String> lines = new ArrayList<>();
+		RosettaNetPayloadLogger logger = new RosettaNetPayloadLogger(LoggingLevel.WARN, 20, 2, (exchange, payload) -> {
+			excerpts.add(payload);
+			return payload.replace("secret", "****");
+		}) {
+			@Override
+			protected void write(String line) {
+				lines.add(line);
+			}
+		};
+		Exchange exchange = new DefaultExchange(context);
+		String payload = "<Price>secret</Price>" + "x".repeat(100);
+
+		for (int i = 0; i < 4; i++) {
+			logger.log(exchange, "Payload " + i, payload);
+		}
+
+		// one in every two payloads, cut to the first 20 characters before redaction
+		String excerpt = "<Price>secret</Price... [truncated, 121 total]";
+		assertEquals(List.of(excerpt, excerpt), excerpts);
+		assertEquals(List.of("Payload 0 [" + exchange.getExchangeId() + "]: <Price>****</Price... [truncated, 121 total]",
+				"Payload 2 [" + exchange.getExchangeId() + "]: <Price>****</Price... [truncated, 121 total]"), lines);
+	}
+	
+	@Test
+	public void testStatisticsRecordedPerMessage() throws Exception {
+		String xml = Files.readString(SAMPLE_PURCHASE_ORDER);
+		ProducerTemplate template = context.createProducerTemplate();
+
+		template.requestBody("rosettanet:unmarshal?pipType=PIP3A4&version=02_05&messageName=PurchaseOrderRequest", xml);
+		template.request("direct:validate", e -> e.getIn().setBody(xml.replaceFirst("<PurchaseOrder>", "<PurchaseOrder><UnknownElement/>")));
+
+		RosettaNetStatistics statistics = context.getComponent("rosettanet", RosettaNetComponent.class).getStatistics();
+		RosettaNetStatistics.OperationStatistics unmarshal = statistics.getStatistics("unmarshal", "PIP3A4", "02_05", "PurchaseOrderRequest");
+		assertEquals(2, unmarshal.getCount());
+		assertEquals(1, unmarshal.getFailures());
+		assertEquals(1L, unmarshal.getFailuresByCause().get("RosettaNetValidationException"));
+		assertEquals(Files.size(SAMPLE_PURCHASE_ORDER), unmarshal.getMaxSize());
+		assertTrue(unmarshal.getDurationPercentile(0.99) >= unmarshal.getDurationPercentile(0.5));
+	}
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 dScope.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package io.dscope.camel.rosettanet.test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.junit.jupiter.api.Test;
+
+import io.dscope.camel.rosettanet.RosettaNetContextRegistry;
+import io.dscope.camel.rosettanet.RosettaNetDictionaryIndex;
+import io.dscope.camel.rosettanet.RosettaNetPreloader;
+import io.dscope.rosettanet.dictionary.RosettaNetDictionary;
+import io.dscope.rosettanet.dictionary.RosettaNetDictionary.MessageDefinition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosettaNetDictionaryIndexTest {
+
+	private static final String DICTIONARY = "<dictionary>"
+			+ "<message name=\"PurchaseOrderRequest\" package=\"com.example.po.v02_05\" type=\"PIP3A4\" version=\"02_05\"/>"
+			+ "<message name=\"PurchaseOrderConfirmation\" package=\"com.example.poc.v02_05\" type=\"PIP3A4\" version=\"02_05\"/>"
+			+ "<message name=\"PurchaseOrderRequest\" package=\"com.example.po.v02_00\" type=\"PIP3A4\" version=\"02_00\"/>"
+			+ "<message name=\"AdvanceShipmentNotification\" package=\"com.example.asn.v02_06\" type=\"PIP3B2\" version=\"02_06\"/>"
+			+ "<message name=\"Incomplete\" type=\"PIP0A0\"/>"
+			+ "</dictionary>";
+
+	private RosettaNetDictionaryIndex load() throws Exception {
+		return RosettaNetDictionaryIndex.load(new ByteArrayInputStream(DICTIONARY.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	public void testFindByCoordinates() throws Exception {
+		RosettaNetDictionaryIndex index = load();
+
+		assertEquals(4, index.getEntries().size());
+		assertEquals("com.example.po.v02_00", index.find("PIP3A4", "02_00", "PurchaseOrderRequest").getPackageName());
+		assertNull(index.find("PIP3A4", "02_00", "PurchaseOrderConfirmation"));
+		assertNull(index.find("PIP0A0", null, null));
+	}
+
+	@Test
+	public void testLatestVersion() throws Exception {
+		RosettaNetDictionaryIndex index = load();
+
+		assertEquals("02_05", index.getLatestVersion("PIP3A4"));
+		assertEquals("PurchaseOrderRequest", index.findLatest("PIP3A4", null).getName());
+		assertEquals("com.example.poc.v02_05", index.findLatest("PIP3A4", "PurchaseOrderConfirmation").getPackageName());
+		assertEquals(3, index.getEntries("PIP3A4").size());
+	}
+
+	@Test
+	public void testGeneratedIndex() throws Exception {
+		String generated = "# pipType\tversion\tname\tpackage\tcontextPath\trootNamespace\trootLocalName\n"
+				+ "PIP3A4\t02_05\tPurchaseOrderRequest\tcom.example.po.v02_05\tcom.example.po.v02_05:com.example.common\turn:po\tPurchaseOrderRequest\n";
+		RosettaNetDictionaryIndex index = RosettaNetDictionaryIndex.loadGenerated(new ByteArrayInputStream(generated.getBytes(StandardCharsets.UTF_8)));
+
+		RosettaNetDictionaryIndex.Entry entry = index.find("PIP3A4", "02_05", "PurchaseOrderRequest");
+		assertEquals("com.example.po.v02_05:com.example.common", entry.getContextPath());
+		assertSame(entry, index.findByRootElement(new QName("urn:po", "PurchaseOrderRequest"), null));
+	}
+
+	@Test
+	public void testRegistryResolvesThroughIndex() throws Exception {
+		String generated = "PIP3A4\t02_00\tPurchaseOrderRequest\tcom.example.po.v02_00\tcom.example.po.v02_00\turn:po\tPurchaseOrderRequest\n"
+				+ "PIP3A4\t02_05\tPurchaseOrderRequest\tcom.example.po.v02_05\tcom.example.po.v02_05:com.example.common\turn:po\tPurchaseOrderRequest\n";
+		RosettaNetContextRegistry registry = new RosettaNetContextRegistry();
+		registry.setDictionaryIndex(RosettaNetDictionaryIndex.loadGenerated(new ByteArrayInputStream(generated.getBytes(StandardCharsets.UTF_8))));
+
+		assertEquals("com.example.po.v02_00", registry.getContextPath("PIP3A4", "02_00", "PurchaseOrderRequest"));
+		assertThrows(IllegalArgumentException.class, () -> registry.getContextPath("PIP3A4", "09_99", "PurchaseOrderRequest"));
+		assertThrows(IllegalArgumentException.class, () -> registry.getContextPath("PIP3A4", "09_99", null));
+	}
+
+	@Test
+	public void testRegistryLeavesPartialCoordinatesToDictionary() throws Exception {
+		RosettaNetContextRegistry registry = new RosettaNetContextRegistry();
+		registry.setDictionaryIndex(load());
+
+		// the index must not pick another default version or message than the dictionary
+		MessageDefinition byPip = RosettaNetDictionary.findMessage("PIP3A4", null, null).orElseThrow();
+		MessageDefinition byVersion = RosettaNetDictionary.findMessage("PIP3A4", "02_05", null).orElseThrow();
+		assertEquals(byPip.getName(), registry.getPlan("PIP3A4", null, null).getMessageDefinition().getName());
+		assertEquals(byPip.getVersion(), registry.getPlan("PIP3A4", null, null).getMessageDefinition().getVersion());
+		assertEquals(byVersion.getName(), registry.getPlan("PIP3A4", "02_05", null).getMessageDefinition().getName());
+	}
+
+	@Test
+	public void testUnknownClass() throws Exception {
+		assertNull(load().findByClass(String.class));
+	}
+
+	@Test
+	public void testPreloadSelection() throws Exception {
+		RosettaNetPreloader preloader = new RosettaNetPreloader(null, load(), false, 0);
+
+		Map<String, List<RosettaNetDictionaryIndex.Entry>> selected = preloader.select("PIP3A4:*, PIP3B2");
+		assertEquals(List.of("PIP3A4:02_00", "PIP3A4:02_05", "PIP3B2:02_06"), List.copyOf(selected.keySet()));
+		assertEquals(2, selected.get("PIP3A4:02_05").size());
+
+		assertEquals(1, preloader.select("PIP3A4:02_00").size());
+		assertThrows(IllegalArgumentException.class, () -> preloader.select("PIP3A4:09_99"));
+	}
+}